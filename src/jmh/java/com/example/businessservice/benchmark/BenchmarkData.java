@@ -0,0 +1,69 @@
+package com.example.businessservice.benchmark;
+
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.example.businessservice.model.entity.Business;
+import com.example.businessservice.model.entity.BusinessOwner;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Benchmark-lar üçün real ölçülü sahib/biznes məlumatları
+final class BenchmarkData {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000);
+
+    private BenchmarkData() {
+    }
+
+    static BusinessOwner owner(long id) {
+        return BusinessOwner.builder()
+                .id(id)
+                .authUserId(1000 + id)
+                .firstName("Owner")
+                .lastName("No" + id)
+                .dateOfBirth(LocalDate.of(1990, 1, 15))
+                .education("BSc Computer Science")
+                .skills("java, spring, sql, redis")
+                .email("owner" + id + "@example.com")
+                .phone("+994551112233")
+                .jobTitle("Founder")
+                .yearsOfExperience(12)
+                .linkedInProfileUrl("https://linkedin.com/in/owner" + id)
+                .bio("Serial founder focused on retail and logistics.")
+                .createdAt(CREATED_AT)
+                .updatedAt(CREATED_AT.plusDays(1))
+                .build();
+    }
+
+    static Business business(long id, BusinessOwner owner) {
+        return Business.builder()
+                .id(id)
+                .companyName("Company " + id)
+                .businessType(id % 3 == 0 ? "Retail" : "Logistics")
+                .description("Description of company " + id)
+                .website("https://company" + id + ".example.com")
+                .email("info@company" + id + ".example.com")
+                .phone("+994501234567")
+                .address("Baku, Nizami street " + id)
+                .createdAt(CREATED_AT.plusMinutes(id))
+                .updatedAt(CREATED_AT.plusMinutes(id).plusDays(1))
+                .owner(owner)
+                .build();
+    }
+
+    static List<Business> businesses(int count) {
+        BusinessOwner owner = owner(1L);
+        List<Business> businesses = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            businesses.add(business(id, owner));
+        }
+        return businesses;
+    }
+
+    static List<BusinessDto> businessDtos(int count) {
+        return businesses(count).stream().map(BusinessDto::new).collect(Collectors.toCollection(ArrayList::new));
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.businessservice.benchmark;
+
+import com.example.businessservice.cache.BusinessCacheInvalidator;
+import com.example.businessservice.cache.BusinessKeyIndex;
+import com.example.businessservice.cache.CacheBatchOperations;
+import com.example.businessservice.cache.CacheEvictionReplay;
+import com.example.businessservice.cache.NegativeLookupCache;
+import com.example.businessservice.model.dto.CursorPage;
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.example.businessservice.model.entity.Business;
+import com.example.businessservice.model.entity.BusinessOwner;
+import com.example.businessservice.repository.BusinessOwnerRepository;
+import com.example.businessservice.repository.BusinessRepository;
+import com.example.businessservice.service.BusinessService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// BusinessService oxumaları in-memory H2 üzərində: cached=false DB yolunu (sorğu + DTO çevrilməsi),
+// cached=true keş hit yolunu (Redis əvəzinə ConcurrentMap; şəbəkə gecikməsi daxil deyil) ölçür.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BusinessServiceReadBenchmark {
+
+    private static final int OWNER_COUNT = 100;
+    private static final int BUSINESSES_PER_OWNER = 20;
+    private static final int MULTI_GET_SIZE = 50;
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    private ConfigurableApplicationContext context;
+    private BusinessService businessService;
+    private List<Long> businessIds;
+    private List<Long> ownerIds;
+
+    @Configuration
+    @EnableAutoConfiguration(exclude = {RedisAutoConfiguration.class, RedisRepositoriesAutoConfiguration.class})
+    @EntityScan(basePackageClasses = Business.class)
+    @EnableJpaRepositories(basePackageClasses = BusinessRepository.class)
+    @EnableCaching
+    @Import({BusinessService.class, BusinessCacheInvalidator.class, CacheEvictionReplay.class, NegativeLookupCache.class,
+            CacheBatchOperations.class, BusinessKeyIndex.class})
+    static class BenchmarkConfig {
+
+        @Bean
+        CacheManager cacheManager(@Value("${benchmark.cached}") boolean cached) {
+            return cached ? new ConcurrentMapCacheManager() : new NoOpCacheManager();
+        }
+
+        // Key index söndürülüb; template yalnız BusinessKeyIndex konstruktoru üçündür və Redis-ə qoşulmur
+        @Bean
+        StringRedisTemplate stringRedisTemplate() {
+            return new StringRedisTemplate(new LettuceConnectionFactory());
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkConfig.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "benchmark.cached=" + cached,
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.flyway.enabled=false",
+                        "business.key-index.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        businessService = context.getBean(BusinessService.class);
+        seed(context.getBean(BusinessOwnerRepository.class), context.getBean(BusinessRepository.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BusinessDto getBusinessById() {
+        return businessService.getBusinessById(randomOf(businessIds));
+    }
+
+    @Benchmark
+    public List<BusinessDto> getBusinessesByOwnerId() {
+        return businessService.getBusinessesByOwnerId(randomOf(ownerIds));
+    }
+
+    @Benchmark
+    public CursorPage<BusinessDto> getBusinessesPage() {
+        return businessService.getBusinessesPage(0L, 50);
+    }
+
+    @Benchmark
+    public List<BusinessDto> getBusinessesByIds() {
+        int from = ThreadLocalRandom.current().nextInt(businessIds.size() - MULTI_GET_SIZE);
+        return businessService.getBusinessesByIds(businessIds.subList(from, from + MULTI_GET_SIZE));
+    }
+
+    private void seed(BusinessOwnerRepository ownerRepository, BusinessRepository businessRepository) {
+        businessIds = new ArrayList<>();
+        ownerIds = new ArrayList<>();
+        long sequence = 0;
+        for (int o = 0; o < OWNER_COUNT; o++) {
+            BusinessOwner owner = BenchmarkData.owner(o);
+            owner.setId(null);
+            owner = ownerRepository.save(owner);
+            ownerIds.add(owner.getId());
+            List<Business> businesses = new ArrayList<>(BUSINESSES_PER_OWNER);
+            for (int b = 0; b < BUSINESSES_PER_OWNER; b++) {
+                Business business = BenchmarkData.business(++sequence, owner);
+                business.setId(null);
+                businesses.add(business);
+            }
+            businessRepository.saveAll(businesses).forEach(saved -> businessIds.add(saved.getId()));
+        }
+    }
+
+    private static Long randomOf(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.businessservice.benchmark;
+
+import com.example.businessservice.cache.BinaryCacheSerializer;
+import com.example.businessservice.config.CacheConfig;
+import com.example.businessservice.model.dto.CursorPage;
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// CacheConfig-in Redis dəyər serializer-ləri: spring.cache.serializer=json və binary müqayisəsi.
+// CPU vaxtı əsas nəticə, serializasiya olunmuş dəyərin bayt ölçüsü isə ikinci metrika kimi (":serializedBytes") JMH nəticəsindədir.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CacheSerializationBenchmark {
+
+    @Param({"json", "binary"})
+    private String serializer;
+
+    @Param({"1", "50", "200"})
+    private int size;
+
+    private RedisSerializer<Object> redisSerializer;
+    private Object value;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() {
+        redisSerializer = "binary".equals(serializer)
+                ? new BinaryCacheSerializer(CacheConfig.jsonCacheSerializer(), 1024)
+                : CacheConfig.jsonCacheSerializer();
+        List<BusinessDto> businesses = BenchmarkData.businessDtos(size);
+        // Tək dəyər businessById, siyahı isə allBusinessesCache səhifəsi formasındadır
+        value = size == 1 ? businesses.get(0) : new CursorPage<>(businesses, CursorPage.encodeCursor((long) size), size);
+        serialized = redisSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] serialize(SizeCounters counters) {
+        byte[] bytes = redisSerializer.serialize(value);
+        counters.record(bytes.length);
+        return bytes;
+    }
+
+    @Benchmark
+    public Object deserialize(SizeCounters counters) {
+        counters.record(serialized.length);
+        return redisSerializer.deserialize(serialized);
+    }
+
+    // EVENTS sayğacları ölçmə iterasiyaları (və thread-lər) üzrə cəmlənir: ölçü yalnız birinci ölçmə iterasiyasında
+    // yazılır ki, nəticədəki dəyər iterasiya sayından asılı olmadan bir dəyərin bayt ölçüsü olsun
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SizeCounters {
+
+        public long serializedBytes;
+        private boolean reported;
+        private boolean reporting;
+
+        @Setup(Level.Iteration)
+        public void beginIteration(IterationParams iteration) {
+            serializedBytes = 0;
+            reporting = !reported && iteration.getType() == IterationType.MEASUREMENT;
+            reported |= reporting;
+        }
+
+        void record(int bytes) {
+            if (reporting) {
+                serializedBytes = bytes;
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.businessservice.benchmark;
+
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.example.businessservice.model.dto.businessOwnerdto.BusinessOwnerDto;
+import com.example.businessservice.model.entity.Business;
+import com.example.businessservice.model.entity.BusinessOwner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity -> DTO çevrilməsi (hər list/keş miss cavabında işləyir)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMappingBenchmark {
+
+    @Param({"1", "50", "1000"})
+    private int size;
+
+    private List<Business> businesses;
+    private List<BusinessOwner> owners;
+
+    @Setup
+    public void setUp() {
+        businesses = BenchmarkData.businesses(size);
+        owners = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            owners.add(BenchmarkData.owner(id));
+        }
+    }
+
+    @Benchmark
+    public List<BusinessDto> businessToDto() {
+        List<BusinessDto> dtos = new ArrayList<>(businesses.size());
+        for (Business business : businesses) {
+            dtos.add(new BusinessDto(business));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<BusinessOwnerDto> ownerToDto() {
+        List<BusinessOwnerDto> dtos = new ArrayList<>(owners.size());
+        for (BusinessOwner owner : owners) {
+            dtos.add(new BusinessOwnerDto(owner));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.businessservice.benchmark;
+
+import com.example.businessservice.model.dto.CursorPage;
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// List endpoint-lərinin cavab gövdəsi: Spring MVC-nin istifadə etdiyi ObjectMapper konfiqurasiyası ilə
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseJsonBenchmark {
+
+    @Param({"50", "200"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<BusinessDto> byOwner;
+    private CursorPage<BusinessDto> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        byOwner = BenchmarkData.businessDtos(size);
+        page = new CursorPage<>(byOwner, CursorPage.encodeCursor((long) size), size);
+    }
+
+    @Benchmark
+    public byte[] businessesByOwner() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(byOwner);
+    }
+
+    @Benchmark
+    public byte[] businessesPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
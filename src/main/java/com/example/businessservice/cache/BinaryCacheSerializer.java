@@ -0,0 +1,410 @@
+package com.example.businessservice.cache;
+
+import com.example.businessservice.model.dto.CursorPage;
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.example.businessservice.model.dto.businessOwnerdto.BusinessOwnerDto;
+import com.example.businessservice.model.dto.businessOwnerdto.BusinessOwnerWithBusinessesDto;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Keş DTO-ları üçün sxem versiyalı binary format: @class metadata və ISO tarix sətirləri yoxdur,
+// sahələr sabit sırada varint/UTF-8 kimi yazılır. Dəstəklənməyən tiplər və köhnə JSON girişləri fallback serializer-ə gedir.
+//
+// Başlıq: MAGIC, VERSION, FLAGS [, açılmış ölçü (varint) — yalnız FLAG_DEFLATED olduqda], sonra tag-lı dəyər.
+// Sahə sırası dəyişərsə VERSION artırılmalıdır; yeni versiyanı tanımayan replika SerializationException atır.
+public class BinaryCacheSerializer implements RedisSerializer<Object> {
+
+    // JSON heç vaxt bu baytla başlamır (UTF-8-də keçərsiz lead byte)
+    static final byte MAGIC = (byte) 0xB5;
+    static final byte VERSION = 1;
+    static final byte FLAG_DEFLATED = 1;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_BUSINESS = 1;
+    private static final byte TAG_OWNER = 2;
+    private static final byte TAG_LIST = 3;
+    private static final byte TAG_CURSOR_PAGE = 4;
+    private static final byte TAG_OWNER_WITH_BUSINESSES = 5;
+    private static final byte TAG_BOOLEAN = 6;
+
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThresholdBytes;
+
+    // compressionThresholdBytes <= 0: sıxılma söndürülüb
+    public BinaryCacheSerializer(RedisSerializer<Object> fallback, int compressionThresholdBytes) {
+        this.fallback = fallback;
+        this.compressionThresholdBytes = compressionThresholdBytes;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return fallback.serialize(null);
+        }
+        Writer body = new Writer();
+        try {
+            body.writeValue(value);
+        } catch (UnsupportedValueException e) {
+            return fallback.serialize(value);
+        }
+        byte[] raw = body.toByteArray();
+        Writer out = new Writer();
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        if (compressionThresholdBytes > 0 && raw.length >= compressionThresholdBytes) {
+            out.writeByte(FLAG_DEFLATED);
+            out.writeVarLong(raw.length);
+            out.writeBytes(deflate(raw));
+        } else {
+            out.writeByte((byte) 0);
+            out.writeBytes(raw);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < 3) {
+            throw new SerializationException("Truncated binary cache value.");
+        }
+        if (bytes[1] != VERSION) {
+            throw new SerializationException("Unsupported binary cache value version " + bytes[1] + "; this instance reads version " + VERSION + ".");
+        }
+        Reader reader = new Reader(bytes, 3);
+        if ((bytes[2] & FLAG_DEFLATED) != 0) {
+            int rawLength = (int) reader.readVarLong();
+            reader = new Reader(inflate(bytes, reader.position, rawLength), 0);
+        }
+        return reader.readValue();
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int offset, int rawLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, bytes.length - offset);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != rawLength) {
+                throw new SerializationException("Corrupt compressed cache value: expected " + rawLength + " bytes, got " + read + ".");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new SerializationException("Corrupt compressed cache value.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static final class UnsupportedValueException extends RuntimeException {
+        UnsupportedValueException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class Writer {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+
+        void writeByte(byte b) {
+            out.write(b);
+        }
+
+        void writeBytes(byte[] bytes) {
+            out.write(bytes, 0, bytes.length);
+        }
+
+        void writeValue(Object value) {
+            if (value == null) {
+                writeByte(TAG_NULL);
+            } else if (value instanceof BusinessDto business) {
+                writeByte(TAG_BUSINESS);
+                writeBusiness(business);
+            } else if (value instanceof BusinessOwnerDto owner) {
+                writeByte(TAG_OWNER);
+                writeOwner(owner);
+            } else if (value instanceof List<?> list) {
+                writeByte(TAG_LIST);
+                writeList(list);
+            } else if (value instanceof CursorPage<?> page) {
+                writeByte(TAG_CURSOR_PAGE);
+                writeList(page.getItems());
+                writeString(page.getNextCursor());
+                writeVarLong(zigZag(page.getLimit()));
+            } else if (value instanceof BusinessOwnerWithBusinessesDto aggregate) {
+                writeByte(TAG_OWNER_WITH_BUSINESSES);
+                writeValue(aggregate.getOwner());
+                writeList(aggregate.getBusinesses());
+            } else if (value instanceof Boolean bool) {
+                writeByte(TAG_BOOLEAN);
+                writeByte((byte) (bool ? 1 : 0));
+            } else {
+                throw new UnsupportedValueException();
+            }
+        }
+
+        // VERSION 1 sahə sırası
+        private void writeBusiness(BusinessDto business) {
+            writeLong(business.getId());
+            writeString(business.getCompanyName());
+            writeString(business.getBusinessType());
+            writeString(business.getDescription());
+            writeString(business.getWebsite());
+            writeString(business.getEmail());
+            writeString(business.getPhone());
+            writeString(business.getAddress());
+            writeDateTime(business.getCreatedAt());
+            writeDateTime(business.getUpdatedAt());
+            writeLong(business.getOwnerId());
+            writeValue(business.getOwner());
+        }
+
+        // VERSION 1 sahə sırası
+        private void writeOwner(BusinessOwnerDto owner) {
+            writeLong(owner.getId());
+            writeLong(owner.getAuthUserId());
+            writeString(owner.getFirstName());
+            writeString(owner.getLastName());
+            writeDate(owner.getDateOfBirth());
+            writeString(owner.getEducation());
+            writeString(owner.getSkills());
+            writeString(owner.getEmail());
+            writeString(owner.getPhone());
+            writeString(owner.getJobTitle());
+            writeLong(owner.getYearsOfExperience() == null ? null : owner.getYearsOfExperience().longValue());
+            writeString(owner.getLinkedInProfileUrl());
+            writeString(owner.getBio());
+            writeDateTime(owner.getCreatedAt());
+            writeDateTime(owner.getUpdatedAt());
+        }
+
+        private void writeList(List<?> list) {
+            if (list == null) {
+                writeVarLong(0);
+                return;
+            }
+            writeVarLong(list.size() + 1L);
+            for (Object item : list) {
+                writeValue(item);
+            }
+        }
+
+        // null -> 0, qalanları zigzag + 1
+        private void writeLong(Long value) {
+            writeVarLong(value == null ? 0 : zigZag(value) + 1);
+        }
+
+        private void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            writeBytes(bytes);
+        }
+
+        private void writeDateTime(LocalDateTime value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            writeVarLong(zigZag(value.toEpochSecond(ZoneOffset.UTC)) + 1);
+            writeVarLong(value.getNano());
+        }
+
+        private void writeDate(LocalDate value) {
+            writeLong(value == null ? null : value.toEpochDay());
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        private static long zigZag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        Object readValue() {
+            byte tag = readByte();
+            return switch (tag) {
+                case TAG_NULL -> null;
+                case TAG_BUSINESS -> readBusiness();
+                case TAG_OWNER -> readOwner();
+                case TAG_LIST -> readList();
+                case TAG_CURSOR_PAGE -> new CursorPage<>(readList(), readString(), (int) unZigZag(readVarLong()));
+                case TAG_OWNER_WITH_BUSINESSES -> new BusinessOwnerWithBusinessesDto((BusinessOwnerDto) readValue(), readTypedList());
+                case TAG_BOOLEAN -> readByte() != 0;
+                default -> throw new SerializationException("Unknown binary cache value tag " + tag + ".");
+            };
+        }
+
+        private BusinessDto readBusiness() {
+            BusinessDto business = new BusinessDto();
+            business.setId(readLong());
+            business.setCompanyName(readString());
+            business.setBusinessType(readString());
+            business.setDescription(readString());
+            business.setWebsite(readString());
+            business.setEmail(readString());
+            business.setPhone(readString());
+            business.setAddress(readString());
+            business.setCreatedAt(readDateTime());
+            business.setUpdatedAt(readDateTime());
+            business.setOwnerId(readLong());
+            business.setOwner((BusinessOwnerDto) readValue());
+            return business;
+        }
+
+        private BusinessOwnerDto readOwner() {
+            BusinessOwnerDto owner = new BusinessOwnerDto();
+            owner.setId(readLong());
+            owner.setAuthUserId(readLong());
+            owner.setFirstName(readString());
+            owner.setLastName(readString());
+            Long epochDay = readLong();
+            owner.setDateOfBirth(epochDay == null ? null : LocalDate.ofEpochDay(epochDay));
+            owner.setEducation(readString());
+            owner.setSkills(readString());
+            owner.setEmail(readString());
+            owner.setPhone(readString());
+            owner.setJobTitle(readString());
+            Long yearsOfExperience = readLong();
+            owner.setYearsOfExperience(yearsOfExperience == null ? null : yearsOfExperience.intValue());
+            owner.setLinkedInProfileUrl(readString());
+            owner.setBio(readString());
+            owner.setCreatedAt(readDateTime());
+            owner.setUpdatedAt(readDateTime());
+            return owner;
+        }
+
+        private List<Object> readList() {
+            long sizePlusOne = readVarLong();
+            if (sizePlusOne == 0) {
+                return null;
+            }
+            int size = (int) (sizePlusOne - 1);
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(readValue());
+            }
+            return list;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> List<T> readTypedList() {
+            return (List<T>) readList();
+        }
+
+        private Long readLong() {
+            long encoded = readVarLong();
+            return encoded == 0 ? null : unZigZag(encoded - 1);
+        }
+
+        private String readString() {
+            long lengthPlusOne = readVarLong();
+            if (lengthPlusOne == 0) {
+                return null;
+            }
+            int length = (int) (lengthPlusOne - 1);
+            ensureAvailable(length);
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private LocalDateTime readDateTime() {
+            long encoded = readVarLong();
+            if (encoded == 0) {
+                return null;
+            }
+            long epochSecond = unZigZag(encoded - 1);
+            return LocalDateTime.ofEpochSecond(epochSecond, (int) readVarLong(), ZoneOffset.UTC);
+        }
+
+        private byte readByte() {
+            ensureAvailable(1);
+            return bytes[position++];
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint in binary cache value.");
+        }
+
+        private void ensureAvailable(int count) {
+            if (position + count > bytes.length) {
+                throw new SerializationException("Truncated binary cache value.");
+            }
+        }
+
+        private static long unZigZag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.businessservice.cache;
+
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BusinessCacheInvalidator {
+
+    public static final String BUSINESS_BY_ID = "businessById";
+    public static final String BUSINESS_BY_COMPANY_NAME = "businessByCompanyName";
+    public static final String BUSINESSES_BY_OWNER_ID = "businessesByOwnerId";
+    public static final String ALL_BUSINESSES_PAGES = "allBusinessesCache";
+
+    private final CacheManager cacheManager;
+    private final NegativeLookupCache negativeLookupCache;
+    private final BusinessKeyIndex businessKeyIndex;
+    private final CacheEvictionReplay cacheEvictionReplay;
+
+    public void businessCreated(BusinessDto created) {
+        businessesCreated(List.of(created));
+    }
+
+    public void businessesCreated(Collection<BusinessDto> created) {
+        if (!created.isEmpty()) {
+            TransactionalCacheSupport.afterCommit(() -> businessKeyIndex.businessesCreated(created));
+            evictAffectedKeys(created);
+        }
+    }
+
+    public void businessUpdated(BusinessDto before, BusinessDto after) {
+        TransactionalCacheSupport.afterCommit(() -> businessKeyIndex.businessUpdated(before, after));
+        evictAffectedKeys(List.of(before, after));
+    }
+
+    public void businessesDeleted(Collection<BusinessDto> deleted) {
+        if (!deleted.isEmpty()) {
+            TransactionalCacheSupport.afterCommit(() -> businessKeyIndex.businessesDeleted(deleted));
+            evictAffectedKeys(deleted);
+        }
+    }
+
+    public void allBusinessesDeleted() {
+        TransactionalCacheSupport.afterCommit(businessKeyIndex::rebuildEverywhere);
+        cacheEvictionReplay.afterCommit(() -> {
+            log.info("Clearing all business cache regions.");
+            clear(BUSINESS_BY_ID);
+            clear(BUSINESS_BY_COMPANY_NAME);
+            clear(BUSINESSES_BY_OWNER_ID);
+            clear(ALL_BUSINESSES_PAGES);
+            clear(BusinessOwnerCacheInvalidator.OWNER_WITH_BUSINESSES);
+            clear(BusinessOwnerCacheInvalidator.OWNER_WITH_BUSINESSES_PAGES);
+        });
+    }
+
+    // Mutasiyanın təsir etdiyi açarlar: id, köhnə/yeni şirkət adı və sahib id-si
+    private void evictAffectedKeys(Collection<BusinessDto> snapshots) {
+        Set<Long> ids = new LinkedHashSet<>();
+        Set<String> companyNames = new LinkedHashSet<>();
+        Set<Long> ownerIds = new LinkedHashSet<>();
+        for (BusinessDto snapshot : snapshots) {
+            ids.add(snapshot.getId());
+            companyNames.add(snapshot.getCompanyName());
+            ownerIds.add(snapshot.getOwnerId());
+        }
+        ids.remove(null);
+        companyNames.remove(null);
+        ownerIds.remove(null);
+
+        cacheEvictionReplay.afterCommit(() -> {
+            log.debug("Evicting business cache keys. ids: {}, companyNames: {}, ownerIds: {}", ids, companyNames, ownerIds);
+            ids.forEach(id -> {
+                evict(BUSINESS_BY_ID, id);
+                negativeLookupCache.forget(BUSINESS_BY_ID, id);
+            });
+            companyNames.forEach(companyName -> {
+                evict(BUSINESS_BY_COMPANY_NAME, companyName);
+                negativeLookupCache.forget(BUSINESS_BY_COMPANY_NAME, companyName);
+            });
+            ownerIds.forEach(ownerId -> {
+                evict(BUSINESSES_BY_OWNER_ID, ownerId);
+                evict(BusinessOwnerCacheInvalidator.OWNER_WITH_BUSINESSES, ownerId);
+            });
+            // Səhifələr cursor ilə açarlanır, hansının dəyişdiyini bilmək olmur; region kiçik və qısa ömürlüdür
+            clear(ALL_BUSINESSES_PAGES);
+            clear(BusinessOwnerCacheInvalidator.OWNER_WITH_BUSINESSES_PAGES);
+        });
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.businessservice.cache;
+
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.example.businessservice.model.dto.businessDto.BusinessKey;
+import com.example.businessservice.repository.BusinessRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Mövcud biznes id-lərinin bitmap-i və şirkət adlarının hash set-i. Startup-da streaming scan ilə qurulur,
+// bu instansiyanın commit olunmuş mutasiyaları və digər replikaların Redis change feed-i ilə yenilənir.
+// Unikallıq üçün son söz DB constraint-indədir; indeks yalnız lazımsız select-ləri aradan qaldırır.
+@Component
+@Slf4j
+public class BusinessKeyIndex implements MessageListener {
+
+    private final BusinessRepository businessRepository;
+    private final TransactionTemplate scanTransaction;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final boolean enabled;
+    private final String changeChannel;
+    private final long rebuildIntervalMinutes;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ScheduledExecutorService rebuildExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "business-key-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private BitSet ids = new BitSet();
+    private Set<String> companyNames = new HashSet<>();
+    // null olmadıqda rebuild gedir: scan zamanı gələn dəyişikliklər sonda yeni strukturlara təkrar tətbiq olunur
+    private List<Change> changesDuringRebuild;
+    private volatile boolean ready;
+
+    public BusinessKeyIndex(BusinessRepository businessRepository,
+                            TransactionTemplate transactionTemplate,
+                            StringRedisTemplate redisTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${business.key-index.enabled:true}") boolean enabled,
+                            @Value("${business.key-index.change-channel:business-service:business-changes}") String changeChannel,
+                            @Value("${business.key-index.rebuild-interval-minutes:30}") long rebuildIntervalMinutes) {
+        this.businessRepository = businessRepository;
+        // readOnly deyil: replika oxumaları açıq olduqda scan primary-də qalmalıdır, gecikən replikadan qurulan
+        // indeks yeni yaradılmış biznesi görməyə bilər və existence yoxlaması səhv "yoxdur" qaytarardı
+        this.scanTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.changeChannel = changeChannel;
+        this.rebuildIntervalMinutes = rebuildIntervalMinutes;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getChangeChannel() {
+        return changeChannel;
+    }
+
+    // false olduqda çağıran DB-yə müraciət etməlidir
+    public boolean isReady() {
+        return ready;
+    }
+
+    // true: biznes mövcuddur. false qəti deyil: change feed gecikə bilər, bitmap isə yalnız int aralığını əhatə edir,
+    // ona görə çağıran false-u DB ilə təsdiqləməlidir
+    public boolean containsId(long id) {
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return ids.get((int) id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean containsCompanyName(String companyName) {
+        lock.readLock().lock();
+        try {
+            return companyNames.contains(companyName);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void businessesCreated(Collection<BusinessDto> created) {
+        publishAndApply(created.stream().map(dto -> Change.added(dto.getId(), dto.getCompanyName())).toList());
+    }
+
+    public void businessUpdated(BusinessDto before, BusinessDto after) {
+        publishAndApply(List.of(Change.removed(before.getId(), before.getCompanyName()),
+                Change.added(after.getId(), after.getCompanyName())));
+    }
+
+    public void businessesDeleted(Collection<BusinessDto> deleted) {
+        publishAndApply(deleted.stream().map(dto -> Change.removed(dto.getId(), dto.getCompanyName())).toList());
+    }
+
+    // Açar-açar dəyişiklik məlum olmadıqda (məs. bütün cədvəl silinib) hər replika indeksi yenidən qurur
+    public void rebuildEverywhere() {
+        publish(new ChangeFeedMessage(instanceId, true, List.of()));
+        scheduleRebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Business key index is disabled; existence checks go to the database.");
+            return;
+        }
+        scheduleRebuild();
+        if (rebuildIntervalMinutes > 0) {
+            // İtirilmiş feed mesajlarının təsiri bu interval ilə məhdudlaşır
+            rebuildExecutor.scheduleWithFixedDelay(this::rebuild, rebuildIntervalMinutes, rebuildIntervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    void scheduleRebuild() {
+        if (enabled) {
+            rebuildExecutor.execute(this::rebuild);
+        }
+    }
+
+    void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            BitSet scannedIds = new BitSet();
+            Set<String> scannedNames = new HashSet<>();
+            scanTransaction.executeWithoutResult(status -> {
+                try (Stream<BusinessKey> keys = businessRepository.streamAllKeys()) {
+                    keys.forEach(key -> apply(Change.added(key.getId(), key.getCompanyName()), scannedIds, scannedNames));
+                }
+            });
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild.forEach(change -> apply(change, scannedIds, scannedNames));
+                ids = scannedIds;
+                companyNames = scannedNames;
+                ready = true;
+            } finally {
+                changesDuringRebuild = null;
+                lock.writeLock().unlock();
+            }
+            log.info("Business key index built with {} businesses in {} ms.", scannedNames.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Failed to build business key index; existing index state is kept: {}", e.getMessage(), e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private void publishAndApply(List<Change> changes) {
+        if (!enabled || changes.isEmpty()) {
+            return;
+        }
+        applyAll(changes);
+        publish(new ChangeFeedMessage(instanceId, false, changes));
+    }
+
+    private void applyAll(List<Change> changes) {
+        lock.writeLock().lock();
+        try {
+            for (Change change : changes) {
+                apply(change, ids, companyNames);
+                if (changesDuringRebuild != null) {
+                    changesDuringRebuild.add(change);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(Change change, BitSet targetIds, Set<String> targetNames) {
+        if (change.id() != null && change.id() >= 0 && change.id() <= Integer.MAX_VALUE) {
+            targetIds.set(change.id().intValue(), change.added());
+        }
+        if (change.companyName() != null) {
+            if (change.added()) {
+                targetNames.add(change.companyName());
+            } else {
+                targetNames.remove(change.companyName());
+            }
+        }
+    }
+
+    private void publish(ChangeFeedMessage message) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(changeChannel, objectMapper.writeValueAsString(message));
+        } catch (IOException | RuntimeException e) {
+            // Digər replikalar növbəti periodik rebuild-ə qədər köhnə qala bilər
+            log.warn("Failed to publish business key change: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            ChangeFeedMessage feedMessage = objectMapper.readValue(message.getBody(), ChangeFeedMessage.class);
+            if (instanceId.equals(feedMessage.source())) {
+                return;
+            }
+            if (feedMessage.rebuild()) {
+                scheduleRebuild();
+            } else {
+                applyAll(feedMessage.changes());
+            }
+        } catch (IOException e) {
+            log.warn("Ignoring malformed business key change message: {}", e.getMessage());
+        }
+    }
+
+    record Change(boolean added, Long id, String companyName) {
+        static Change added(Long id, String companyName) {
+            return new Change(true, id, companyName);
+        }
+
+        static Change removed(Long id, String companyName) {
+            return new Change(false, id, companyName);
+        }
+    }
+
+    record ChangeFeedMessage(String source, boolean rebuild, List<Change> changes) {
+    }
+}
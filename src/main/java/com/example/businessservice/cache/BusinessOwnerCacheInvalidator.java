@@ -0,0 +1,107 @@
+package com.example.businessservice.cache;
+
+import com.example.businessservice.model.dto.businessOwnerdto.BusinessOwnerDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+// Hər giriş forması üçün ayrı region: id -> dto, authUserId -> dto, "afterId:limit" -> səhifə.
+// Sahib+bizneslər aqreqatı həm sahib, həm biznes mutasiyalarında silinir (biznes tərəfi BusinessCacheInvalidator-dadır).
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BusinessOwnerCacheInvalidator {
+
+    public static final String OWNER_BY_ID = "businessOwnerById";
+    public static final String OWNER_BY_AUTH_USER_ID = "businessOwnerByAuthUserId";
+    public static final String OWNER_PAGES = "businessOwnerPages";
+    public static final String OWNER_WITH_BUSINESSES = "businessOwnerWithBusinesses";
+    public static final String OWNER_WITH_BUSINESSES_PAGES = "businessOwnerWithBusinessesPages";
+
+    private final CacheManager cacheManager;
+    private final NegativeLookupCache negativeLookupCache;
+    private final CacheEvictionReplay cacheEvictionReplay;
+
+    public void ownerCreated(BusinessOwnerDto created) {
+        TransactionalCacheSupport.afterCommit(() -> refresh(created));
+        cacheEvictionReplay.afterCommit(() -> {
+            negativeLookupCache.forget(OWNER_BY_ID, created.getId());
+            negativeLookupCache.forget(OWNER_BY_AUTH_USER_ID, created.getAuthUserId());
+            clear(OWNER_PAGES);
+            clear(OWNER_WITH_BUSINESSES_PAGES);
+        });
+        cacheEvictionReplay.afterReplicaLag(() -> evictRefreshed(created));
+    }
+
+    public void ownerUpdated(BusinessOwnerDto before, BusinessOwnerDto after) {
+        TransactionalCacheSupport.afterCommit(() -> refresh(after));
+        cacheEvictionReplay.afterCommit(() -> {
+            if (!Objects.equals(before.getAuthUserId(), after.getAuthUserId())) {
+                evict(OWNER_BY_AUTH_USER_ID, before.getAuthUserId());
+            }
+            evict(OWNER_WITH_BUSINESSES, after.getId());
+            clear(OWNER_PAGES);
+            clear(OWNER_WITH_BUSINESSES_PAGES);
+        });
+        cacheEvictionReplay.afterReplicaLag(() -> evictRefreshed(after));
+    }
+
+    public void ownerDeleted(BusinessOwnerDto deleted) {
+        cacheEvictionReplay.afterCommit(() -> {
+            evict(OWNER_BY_ID, deleted.getId());
+            evict(OWNER_BY_AUTH_USER_ID, deleted.getAuthUserId());
+            evict(OWNER_WITH_BUSINESSES, deleted.getId());
+            clear(OWNER_PAGES);
+            clear(OWNER_WITH_BUSINESSES_PAGES);
+        });
+    }
+
+    public void allOwnersDeleted() {
+        cacheEvictionReplay.afterCommit(() -> {
+            log.info("Clearing all business owner cache regions.");
+            clear(OWNER_BY_ID);
+            clear(OWNER_BY_AUTH_USER_ID);
+            clear(OWNER_PAGES);
+            clear(OWNER_WITH_BUSINESSES);
+            clear(OWNER_WITH_BUSINESSES_PAGES);
+        });
+    }
+
+    // id və authUserId girişləri eyni commit-dən sonra birlikdə yenilənir
+    private void refresh(BusinessOwnerDto owner) {
+        put(OWNER_BY_ID, owner.getId(), owner);
+        put(OWNER_BY_AUTH_USER_ID, owner.getAuthUserId(), owner);
+    }
+
+    // Gecikmə ərzində replikadan oxunmuş köhnə dəyər refresh-in üstünə yazılıbsa, növbəti oxuma primary-dən
+    // (və ya artıq yetişmiş replikadan) təzə dəyəri yükləyir
+    private void evictRefreshed(BusinessOwnerDto owner) {
+        evict(OWNER_BY_ID, owner.getId());
+        evict(OWNER_BY_AUTH_USER_ID, owner.getAuthUserId());
+    }
+
+    private void put(String cacheName, Object key, BusinessOwnerDto owner) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.put(key, owner);
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
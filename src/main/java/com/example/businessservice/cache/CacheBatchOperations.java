@@ -0,0 +1,150 @@
+package com.example.businessservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Çox açarlı keş oxuma/yazma: L1-dən sonra qalan açarlar bir MGET ilə, yazmalar bir pipeline ilə Redis-ə gedir.
+// Redis-dən başqa keşlərdə (məs. testlərdə) açar-açar işləyir.
+@Component
+@Slf4j
+public class CacheBatchOperations {
+
+    private final CacheManager cacheManager;
+    private final RedisConnectionFactory redisConnectionFactory;
+
+    public CacheBatchOperations(CacheManager cacheManager, ObjectProvider<RedisConnectionFactory> redisConnectionFactory) {
+        this.cacheManager = cacheManager;
+        this.redisConnectionFactory = redisConnectionFactory.getIfAvailable();
+    }
+
+    // Yalnız tapılan açarları qaytarır
+    public Map<Object, Object> getAll(String cacheName, Collection<?> keys) {
+        Map<Object, Object> hits = new HashMap<>();
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || keys.isEmpty()) {
+            return hits;
+        }
+        List<Object> remaining = new ArrayList<>();
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            for (Object key : keys) {
+                Object value = twoLevelCache.getLocal(key);
+                if (value != null) {
+                    hits.put(key, value);
+                } else {
+                    remaining.add(key);
+                }
+            }
+            Map<Object, Object> remoteHits = getAllRemote(twoLevelCache.getRemoteCache(), remaining);
+            twoLevelCache.recordRemoteLookups(remoteHits.size(), remaining.size());
+            remoteHits.forEach(twoLevelCache::putLocal);
+            hits.putAll(remoteHits);
+        } else {
+            hits.putAll(getAllRemote(cache, new ArrayList<>(keys)));
+        }
+        return hits;
+    }
+
+    // DB-dən yüklənmiş dəyərlərlə keşi doldurur. Bu, mutasiya deyil: digər replikalara invalidasiya göndərilmir.
+    public void putAll(String cacheName, Map<?, ?> entries) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || entries.isEmpty()) {
+            return;
+        }
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            putAllRemote(twoLevelCache.getRemoteCache(), entries);
+            entries.forEach(twoLevelCache::putLocal);
+        } else {
+            putAllRemote(cache, entries);
+        }
+    }
+
+    private Map<Object, Object> getAllRemote(Cache cache, List<Object> keys) {
+        Map<Object, Object> hits = new HashMap<>();
+        if (keys.isEmpty()) {
+            return hits;
+        }
+        if (!(cache instanceof RedisCache redisCache) || redisConnectionFactory == null) {
+            for (Object key : keys) {
+                Cache.ValueWrapper wrapper = cache.get(key);
+                if (wrapper != null && wrapper.get() != null) {
+                    hits.put(key, wrapper.get());
+                }
+            }
+            return hits;
+        }
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        byte[][] redisKeys = new byte[keys.size()][];
+        for (int i = 0; i < keys.size(); i++) {
+            redisKeys[i] = redisKey(redisCache, keys.get(i));
+        }
+        List<byte[]> values;
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            values = connection.stringCommands().mGet(redisKeys);
+        }
+        if (values == null) {
+            return hits;
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] value = values.get(i);
+            if (value != null) {
+                hits.put(keys.get(i), config.getValueSerializationPair().read(ByteBuffer.wrap(value)));
+            }
+        }
+        log.debug("MGET on cache '{}': {} of {} keys found.", cache.getName(), hits.size(), keys.size());
+        return hits;
+    }
+
+    private void putAllRemote(Cache cache, Map<?, ?> entries) {
+        if (!(cache instanceof RedisCache redisCache) || redisConnectionFactory == null) {
+            entries.forEach(cache::put);
+            return;
+        }
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.openPipeline();
+            try {
+                entries.forEach((key, value) -> {
+                    if (value == null) {
+                        return;
+                    }
+                    Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+                    Expiration expiration = ttl != null && !ttl.isZero() && !ttl.isNegative()
+                            ? Expiration.from(ttl)
+                            : Expiration.persistent();
+                    connection.stringCommands().set(redisKey(redisCache, key),
+                            ByteUtils.getBytes(config.getValueSerializationPair().write(value)),
+                            expiration, RedisStringCommands.SetOption.upsert());
+                });
+            } finally {
+                connection.closePipeline();
+            }
+        }
+        log.debug("Pipelined {} entries into cache '{}'.", entries.size(), cache.getName());
+    }
+
+    // RedisCache-in öz açar formatı ilə eyni: "<prefix><key>"
+    private static byte[] redisKey(RedisCache redisCache, Object key) {
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        String stringKey = key instanceof String s ? s : config.getConversionService().convert(key, String.class);
+        String prefixed = config.usePrefix() ? config.getKeyPrefixFor(redisCache.getName()) + stringKey : stringKey;
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(prefixed));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.businessservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Replika oxumaları açıq olduqda commit-dən dərhal sonra silinmiş açar, replika yazını hələ tətbiq etmədiyi
+// müddətdə başqa sorğunun miss-i ilə köhnə dəyərlə yenidən doldurula bilər və TTL boyu elə qalar.
+// Ona görə eyni silmə replikanın icazə verilən gecikməsindən sonra bir daha icra olunur.
+// Replika yoxdursa adi TransactionalCacheSupport.afterCommit kimi işləyir.
+@Component
+@Slf4j
+public class CacheEvictionReplay {
+
+    private final long replayDelayMillis;
+    private final ScheduledExecutorService replayExecutor;
+
+    public CacheEvictionReplay(@Value("${spring.datasource.replica.url:}") String replicaUrl,
+                               @Value("${spring.datasource.replica.max-lag-millis:1000}") long maxLagMillis,
+                               @Value("${spring.datasource.replica.lag-check-interval-millis:1000}") long lagCheckIntervalMillis) {
+        // Gecikmə yoxlamalar arasında limiti keçə bilər, ona görə yoxlama intervalı da əlavə olunur
+        this.replayDelayMillis = replicaUrl.isBlank() ? 0 : maxLagMillis + lagCheckIntervalMillis;
+        this.replayExecutor = replayDelayMillis > 0
+                ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "cache-eviction-replay");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    // Yalnız idempotent silmələr üçün: put burada təkrarlansa sonradan yazılmış daha yeni dəyəri əzə bilərdi
+    public void afterCommit(Runnable eviction) {
+        TransactionalCacheSupport.afterCommit(() -> {
+            eviction.run();
+            if (replayExecutor != null) {
+                replayExecutor.schedule(() -> replay(eviction), replayDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    // Commit-dən sonra yenidən doldurulmuş (put) açarlar üçün: dərhal silmək yeniləməni boşa çıxarardı, amma
+    // replika gecikməsi ərzində köhnə dəyəri oxumuş paralel miss yenilənmiş dəyərin üstünə yaza bilər.
+    // Silmə yalnız gecikmədən sonra icra olunur; replika yoxdursa heç nə etmir.
+    public void afterReplicaLag(Runnable eviction) {
+        if (replayExecutor == null) {
+            return;
+        }
+        TransactionalCacheSupport.afterCommit(() ->
+                replayExecutor.schedule(() -> replay(eviction), replayDelayMillis, TimeUnit.MILLISECONDS));
+    }
+
+    private void replay(Runnable eviction) {
+        try {
+            eviction.run();
+        } catch (RuntimeException e) {
+            log.warn("Replayed cache eviction failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (replayExecutor != null) {
+            replayExecutor.shutdownNow();
+        }
+    }
+}
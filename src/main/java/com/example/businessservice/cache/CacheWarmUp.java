@@ -0,0 +1,181 @@
+package com.example.businessservice.cache;
+
+import com.example.businessservice.config.CacheWarmUpProperties;
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.example.businessservice.model.dto.businessOwnerdto.BusinessOwnerDto;
+import com.example.businessservice.repository.BusinessOwnerRepository;
+import com.example.businessservice.repository.BusinessRepository;
+import com.example.businessservice.service.BusinessOwnerService;
+import com.example.businessservice.service.BusinessService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Startup-da HotKeyTracker-in Redis-də saxladığı ən isti açarları DB-dən batch-lərlə yükləyib keşə yazır.
+// Boot readiness-i (ACCEPTING_TRAFFIC) yalnız ApplicationRunner-lər bitəndən sonra dəyişir,
+// ona görə yeni instansiya warm-up bitənə və ya vaxt limiti dolana qədər trafik almır.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheWarmUp implements ApplicationRunner {
+
+    private final CacheWarmUpProperties properties;
+    private final HotKeyTracker hotKeyTracker;
+    private final CacheBatchOperations cacheBatchOperations;
+    private final BusinessRepository businessRepository;
+    private final BusinessOwnerRepository businessOwnerRepository;
+    private final BusinessService businessService;
+    private final BusinessOwnerService businessOwnerService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        List<Callable<Integer>> tasks = properties.getCaches().stream()
+                .map(cacheName -> (Callable<Integer>) () -> HotKeyTracker.withoutRecording(() -> warmUp(cacheName)))
+                .toList();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        int warmed = 0;
+        int timedOut = 0;
+        try {
+            List<Future<Integer>> results = executor.invokeAll(tasks, properties.getTimeBudgetSeconds(), TimeUnit.SECONDS);
+            for (Future<Integer> result : results) {
+                try {
+                    warmed += result.get();
+                } catch (CancellationException e) {
+                    timedOut++;
+                } catch (ExecutionException e) {
+                    log.warn("Cache warm-up task failed: {}", e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Cache warm-up finished in {} ms: {} entries loaded, {} caches cut off by the time budget.",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), warmed, timedOut);
+    }
+
+    int warmUp(String cacheName) {
+        List<String> keys;
+        try {
+            keys = hotKeyTracker.topKeys(cacheName, properties.getTopN());
+        } catch (RuntimeException e) {
+            // Redis əlçatmazdırsa soyuq keşlə başlayırıq
+            log.warn("Failed to read hot keys for cache '{}', skipping warm-up: {}", cacheName, e.getMessage());
+            return 0;
+        }
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        int warmed = switch (cacheName) {
+            case BusinessCacheInvalidator.BUSINESS_BY_ID -> inBatches(parseIds(keys), this::warmBusinesses);
+            case BusinessCacheInvalidator.BUSINESSES_BY_OWNER_ID -> inBatches(parseIds(keys), this::warmBusinessesByOwner);
+            case BusinessOwnerCacheInvalidator.OWNER_BY_ID -> inBatches(parseIds(keys), this::warmOwners);
+            case BusinessCacheInvalidator.ALL_BUSINESSES_PAGES -> warmPages(keys, businessService::getBusinessesPage);
+            case BusinessOwnerCacheInvalidator.OWNER_PAGES -> warmPages(keys, businessOwnerService::getBusinessOwnersPage);
+            default -> {
+                log.warn("No warm-up loader for cache '{}'.", cacheName);
+                yield 0;
+            }
+        };
+        log.debug("Warmed {} entries of cache '{}' from {} hot keys.", warmed, cacheName, keys.size());
+        return warmed;
+    }
+
+    private int warmBusinesses(List<Long> ids) {
+        Map<Long, BusinessDto> loaded = businessRepository.findDtosByIdIn(ids).stream()
+                .collect(Collectors.toMap(BusinessDto::getId, Function.identity()));
+        cacheBatchOperations.putAll(BusinessCacheInvalidator.BUSINESS_BY_ID, loaded);
+        return loaded.size();
+    }
+
+    // Biznesi olmayan sahiblər üçün boş siyahı da keşlənir, servis metodu da eyni şeyi edir
+    private int warmBusinessesByOwner(List<Long> ownerIds) {
+        Map<Long, List<BusinessDto>> byOwner = businessRepository.findDtosByOwnerIdIn(ownerIds).stream()
+                .collect(Collectors.groupingBy(BusinessDto::getOwnerId));
+        Map<Long, List<BusinessDto>> loaded = ownerIds.stream()
+                .collect(Collectors.toMap(Function.identity(), ownerId -> byOwner.getOrDefault(ownerId, new ArrayList<>())));
+        cacheBatchOperations.putAll(BusinessCacheInvalidator.BUSINESSES_BY_OWNER_ID, loaded);
+        return loaded.size();
+    }
+
+    private int warmOwners(List<Long> ids) {
+        Map<Long, BusinessOwnerDto> loaded = businessOwnerRepository.findAllById(ids).stream()
+                .map(BusinessOwnerDto::new)
+                .collect(Collectors.toMap(BusinessOwnerDto::getId, Function.identity()));
+        cacheBatchOperations.putAll(BusinessOwnerCacheInvalidator.OWNER_BY_ID, loaded);
+        return loaded.size();
+    }
+
+    // Səhifə açarları "afterId:limit" formasındadır; yükləmə keşlənən servis metodu (proxy) ilə gedir
+    private int warmPages(List<String> keys, PageLoader loader) {
+        int warmed = 0;
+        for (String key : keys) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            int separator = key.indexOf(':');
+            if (separator < 0) {
+                continue;
+            }
+            try {
+                loader.load(Long.parseLong(key.substring(0, separator)), Integer.parseInt(key.substring(separator + 1)));
+                warmed++;
+            } catch (NumberFormatException e) {
+                log.debug("Skipping malformed page key '{}'.", key);
+            }
+        }
+        return warmed;
+    }
+
+    private int inBatches(List<Long> ids, Function<List<Long>, Integer> loader) {
+        int warmed = 0;
+        int batchSize = Math.max(1, properties.getBatchSize());
+        for (int from = 0; from < ids.size() && !Thread.currentThread().isInterrupted(); from += batchSize) {
+            warmed += loader.apply(ids.subList(from, Math.min(from + batchSize, ids.size())));
+        }
+        return warmed;
+    }
+
+    private static List<Long> parseIds(List<String> keys) {
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            try {
+                ids.add(Long.parseLong(key));
+            } catch (NumberFormatException e) {
+                log.debug("Skipping malformed id key '{}'.", key);
+            }
+        }
+        return ids;
+    }
+
+    @FunctionalInterface
+    private interface PageLoader {
+        Object load(long afterId, int limit);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.businessservice.cache;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Kilidsiz count-min sketch: depth sətir x width sayğac, açar hər sətirdə bir sayğacı artırır,
+// təxmini say sətirlər üzrə minimumdur (yalnız yuxarı yanıla bilər).
+// width * 10 artımdan sonra bütün sayğaclar yarıya bölünür ki, köhnə populyarlıq tədricən unudulsun.
+public final class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL};
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+    private final long agingThreshold;
+    private final AtomicLong additions = new AtomicLong();
+    private final AtomicBoolean aging = new AtomicBoolean();
+    private final AtomicLong agingRounds = new AtomicLong();
+
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("Sketch depth must be between 1 and " + SEEDS.length + ": " + depth);
+        }
+        if (width < 1) {
+            throw new IllegalArgumentException("Sketch width must be positive: " + width);
+        }
+        this.depth = depth;
+        // İndeks maska ilə hesablanır, ona görə ikinin qüvvətinə yuvarlaqlaşdırılır
+        this.width = Integer.bitCount(width) == 1 ? width : Integer.highestOneBit(width) << 1;
+        this.counters = new AtomicLongArray(depth * this.width);
+        this.agingThreshold = 10L * this.width;
+    }
+
+    // Artırır və açarın yeni təxmini sayını qaytarır
+    public long increment(Object key) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(hash, row)));
+        }
+        if (additions.incrementAndGet() >= agingThreshold) {
+            age();
+        }
+        return estimate;
+    }
+
+    public long estimate(Object key) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    // Hər yarıya bölünmədə artır: əvvəlki saylarla müqayisə edən çağıran bunu görüb onları yeniləyə bilir
+    public long agingRounds() {
+        return agingRounds.get();
+    }
+
+    private int index(int hash, int row) {
+        long mixed = (hash + SEEDS[row]) * SEEDS[row];
+        mixed ^= mixed >>> 32;
+        return row * width + (int) (mixed & (width - 1));
+    }
+
+    private void age() {
+        if (!aging.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (int i = 0; i < counters.length(); i++) {
+                counters.getAndUpdate(i, count -> count >>> 1);
+            }
+            additions.updateAndGet(count -> count >>> 1);
+            agingRounds.incrementAndGet();
+        } finally {
+            aging.set(false);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.businessservice.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// /actuator/hotkeys və /actuator/hotkeys/{cache}?limit=N: bu instansiyanın count-min sketch təxminləri ilə top-K açarları
+@Component
+@Endpoint(id = "hotkeys")
+@RequiredArgsConstructor
+public class HotKeyEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final HotKeyTracker hotKeyTracker;
+
+    @ReadOperation
+    public Map<String, List<HotKeyTracker.HotKey>> hotKeys(@Nullable Integer limit) {
+        Map<String, List<HotKeyTracker.HotKey>> hotKeys = new TreeMap<>();
+        for (String cacheName : hotKeyTracker.getTrackedCaches()) {
+            hotKeys.put(cacheName, hotKeyTracker.hotKeys(cacheName, limitOrDefault(limit)));
+        }
+        return hotKeys;
+    }
+
+    @ReadOperation
+    public List<HotKeyTracker.HotKey> hotKeysForCache(@Selector String cache, @Nullable Integer limit) {
+        return hotKeyTracker.hotKeys(cache, limitOrDefault(limit));
+    }
+
+    private static int limitOrDefault(Integer limit) {
+        return limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+    }
+}
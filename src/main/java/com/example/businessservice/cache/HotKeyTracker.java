@@ -0,0 +1,259 @@
+package com.example.businessservice.cache;
+
+import com.example.businessservice.config.CacheWarmUpProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Keş oxumalarının tezliyi: region başına count-min sketch və ən isti top-K açar.
+// Near cache admission və hot key TTL qərarları buradan oxunur; top-K-nın müraciət sayları periodik olaraq
+// Redis ZSET-lərinə (region başına bir) pipeline ilə yazılır. ZSET replikalar və deploy-lar arasında paylaşılır,
+// CacheWarmUp startup-da oradan ən isti açarları oxuyur.
+@Component
+@Slf4j
+public class HotKeyTracker {
+
+    private static final String KEY_PREFIX = "cache-hot-keys:";
+    private static final String DECAY_KEY_PREFIX = "cache-hot-keys-decay:";
+
+    // CacheWarmUp-ın öz yükləmələri müraciət sayılmır: əks halda isti açarlar restart-lar arasında özlərini isti saxlayardı
+    private static final ThreadLocal<Boolean> RECORDING_SUPPRESSED = new ThreadLocal<>();
+
+    private final StringRedisTemplate redisTemplate;
+    private final CacheWarmUpProperties.HotKeys properties;
+    private final Map<String, KeyFrequency> frequencies = new HashMap<>();
+    private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hot-key-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public HotKeyTracker(StringRedisTemplate redisTemplate, CacheWarmUpProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties.getHotKeys();
+        if (this.properties.isEnabled()) {
+            // Regionlar startup-da sabitlənir: oxuma yolunda kilid və ya computeIfAbsent lazım olmur
+            for (String cacheName : this.properties.getCaches()) {
+                frequencies.put(cacheName, new KeyFrequency(
+                        new CountMinSketch(this.properties.getSketchDepth(), this.properties.getSketchWidth()),
+                        this.properties.getTopK()));
+            }
+        }
+    }
+
+    public Set<String> getTrackedCaches() {
+        return frequencies.keySet();
+    }
+
+    public static <T> T withoutRecording(Supplier<T> action) {
+        RECORDING_SUPPRESSED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            RECORDING_SUPPRESSED.remove();
+        }
+    }
+
+    public void record(String cacheName, Object key) {
+        if (RECORDING_SUPPRESSED.get() != null) {
+            return;
+        }
+        KeyFrequency frequency = frequencies.get(cacheName);
+        if (frequency != null) {
+            frequency.record(TwoLevelCache.localKey(key));
+        }
+    }
+
+    // Son dövrdəki təxmini müraciət sayı; izlənməyən regionlar üçün 0
+    public long estimate(String cacheName, Object key) {
+        KeyFrequency frequency = frequencies.get(cacheName);
+        return frequency != null ? frequency.sketch.estimate(TwoLevelCache.localKey(key)) : 0;
+    }
+
+    public boolean isHot(String cacheName, Object key) {
+        KeyFrequency frequency = frequencies.get(cacheName);
+        return frequency != null && frequency.top.containsKey(TwoLevelCache.localKey(key));
+    }
+
+    // Bu instansiyanın top-K-sı, təxmini saya görə azalan sıra ilə
+    public List<HotKey> hotKeys(String cacheName, int limit) {
+        KeyFrequency frequency = frequencies.get(cacheName);
+        if (frequency == null) {
+            return List.of();
+        }
+        return frequency.top.keySet().stream()
+                .map(key -> new HotKey(key, frequency.sketch.estimate(key)))
+                .sorted(Comparator.comparingLong(HotKey::estimatedAccesses).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    // Bütün replikaların Redis-də birləşmiş xallarına görə ən isti açarlar, azalan sıra ilə
+    public List<String> topKeys(String cacheName, int limit) {
+        Set<String> keys = redisTemplate.opsForZSet().reverseRange(KEY_PREFIX + cacheName, 0, limit - 1L);
+        return keys != null ? List.copyOf(keys) : List.of();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (frequencies.isEmpty()) {
+            return;
+        }
+        long interval = properties.getFlushIntervalSeconds();
+        flushExecutor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.SECONDS);
+    }
+
+    // Deploy zamanı son intervalın sayları itməsin
+    @PreDestroy
+    void stop() {
+        flushExecutor.shutdownNow();
+        flush();
+    }
+
+    void flush() {
+        frequencies.forEach((cacheName, frequency) -> {
+            Map<String, Long> counts = new HashMap<>();
+            frequency.top.forEach((key, entry) -> {
+                long count = entry.pending.sumThenReset();
+                if (count > 0) {
+                    counts.put(key, count);
+                }
+            });
+            byte[] zsetKey = (KEY_PREFIX + cacheName).getBytes(StandardCharsets.UTF_8);
+            try {
+                boolean decay = tryClaimDecay(cacheName);
+                if (counts.isEmpty() && !decay) {
+                    return;
+                }
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    RedisZSetCommands zSet = connection.zSetCommands();
+                    // Köhnə xallar decay əmsalına vurulur: populyarlığı itmiş açarlar tədricən düşür
+                    if (decay) {
+                        zSet.zUnionStore(zsetKey, Aggregate.SUM, Weights.of(properties.getDecay()), zsetKey);
+                    }
+                    counts.forEach((key, count) -> zSet.zIncrBy(zsetKey, count, key.getBytes(StandardCharsets.UTF_8)));
+                    // Yalnız ən yüksək xallı maxTrackedKeys açar qalır
+                    zSet.zRemRange(zsetKey, 0, -(properties.getMaxTrackedKeys() + 1L));
+                    return null;
+                });
+                log.debug("Flushed {} hot key counts for cache '{}'.", counts.size(), cacheName);
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush hot key counts for cache '{}': {}", cacheName, e.getMessage());
+            }
+        });
+    }
+
+    // Decay klaster üzrə intervalda bir dəfə tətbiq olunur: hər replika öz flush-ında vursaydı, xalların sönmə sürəti
+    // replika sayı ilə artardı. Interval ərzində marker-i (SET NX PX) ilk qoyan replika vurur.
+    private boolean tryClaimDecay(String cacheName) {
+        Boolean claimed = redisTemplate.opsForValue().setIfAbsent(DECAY_KEY_PREFIX + cacheName, "1",
+                Duration.ofSeconds(properties.getFlushIntervalSeconds()));
+        return Boolean.TRUE.equals(claimed);
+    }
+
+    public record HotKey(String key, long estimatedAccesses) {
+    }
+
+    // Top-K heap əvəzinə hədli map: üzvlərin sayları kilidsiz yenilənir, kilid yalnız üzvlük dəyişəndə
+    // (yeni açar ən zəif üzvü sıxışdırdıqda) götürülür. Kilid gözlənilmir: məşğuldursa namizəd atılır,
+    // sketch onu onsuz da saydığı üçün növbəti müraciətdə yenidən yoxlanılır. synchronized virtual thread-i
+    // carrier-ə bağlayardı, O(K) skan isə bütün sorğu thread-lərini bir monitorda növbəyə düzərdi.
+    static final class KeyFrequency {
+
+        final CountMinSketch sketch;
+        final int capacity;
+        final ConcurrentHashMap<String, TopKeyEntry> top = new ConcurrentHashMap<>();
+        private final ReentrantLock membershipLock = new ReentrantLock();
+        // Top-K dolu olduqda ən zəif üzvün təxmini sayı; ondan yuxarı olmayan açarlar kilidə getmir
+        private volatile long admissionThreshold;
+        private volatile long thresholdAgingRound;
+
+        KeyFrequency(CountMinSketch sketch, int capacity) {
+            this.sketch = sketch;
+            this.capacity = capacity;
+        }
+
+        void record(String key) {
+            long estimate = sketch.increment(key);
+            TopKeyEntry entry = top.get(key);
+            if (entry != null) {
+                entry.pending.increment();
+                return;
+            }
+            // Sketch yarıya bölünübsə hədd köhnədir və yenidən hesablanmalıdır
+            if (top.size() >= capacity && estimate <= admissionThreshold
+                    && thresholdAgingRound == sketch.agingRounds()) {
+                return;
+            }
+            if (!membershipLock.tryLock()) {
+                return;
+            }
+            try {
+                entry = top.get(key);
+                if (entry == null) {
+                    offer(key, estimate);
+                } else {
+                    entry.pending.increment();
+                }
+            } finally {
+                membershipLock.unlock();
+            }
+        }
+
+        private void offer(String key, long estimate) {
+            if (top.size() >= capacity) {
+                String weakestKey = null;
+                long weakestEstimate = Long.MAX_VALUE;
+                long secondWeakestEstimate = Long.MAX_VALUE;
+                for (String member : top.keySet()) {
+                    long memberEstimate = sketch.estimate(member);
+                    if (memberEstimate < weakestEstimate) {
+                        secondWeakestEstimate = weakestEstimate;
+                        weakestKey = member;
+                        weakestEstimate = memberEstimate;
+                    } else if (memberEstimate < secondWeakestEstimate) {
+                        secondWeakestEstimate = memberEstimate;
+                    }
+                }
+                thresholdAgingRound = sketch.agingRounds();
+                if (weakestKey == null || weakestEstimate >= estimate) {
+                    admissionThreshold = weakestEstimate;
+                    return;
+                }
+                // Sıxışdırılan üzvün flush olunmamış sayları itir: o, onsuz da top-K-nın ən zəifidir
+                top.remove(weakestKey);
+                admissionThreshold = Math.min(secondWeakestEstimate, estimate);
+            }
+            TopKeyEntry entry = new TopKeyEntry();
+            entry.pending.increment();
+            top.put(key, entry);
+        }
+    }
+
+    static final class TopKeyEntry {
+        // Son flush-dan bəri müraciətlər
+        final LongAdder pending = new LongAdder();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.businessservice.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+// Tapılmayan açarları qısa TTL ilə yadda saxlayır ki, mövcud olmayan id-lərin təkrar yoxlanışı DB-yə getməsin
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NegativeLookupCache {
+
+    public static final String CACHE_NAME = "negativeLookups";
+
+    private final CacheManager cacheManager;
+
+    public boolean isKnownMissing(String lookup, Object key) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        return cache != null && cache.get(negativeKey(lookup, key)) != null;
+    }
+
+    public void recordMissing(String lookup, Object key) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            log.debug("Recording missing {} lookup for key: {}", lookup, key);
+            cache.put(negativeKey(lookup, key), Boolean.TRUE);
+        }
+    }
+
+    public void forget(String lookup, Object key) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.evict(negativeKey(lookup, key));
+        }
+    }
+
+    public static String negativeKey(String lookup, Object key) {
+        return lookup + ":" + key;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.businessservice.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionalCacheSupport {
+
+    private TransactionalCacheSupport() {
+    }
+
+    // Keş dəyişikliyi yalnız DB commit-dən sonra tətbiq olunur, əks halda başqa oxucu köhnə dəyəri geri yaza bilər
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
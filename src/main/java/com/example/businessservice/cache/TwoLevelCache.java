@@ -0,0 +1,384 @@
+package com.example.businessservice.cache;
+
+import com.example.businessservice.config.NearCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * L1 (proses daxili Caffeine) + L2 (Redis) keşi. Oxuma əvvəlcə L1-ə baxır,
+ * yazma və silmə hər iki səviyyəyə gedir və digər replikalara pub/sub ilə bildirilir.
+ * Metrikalar: business.cache.gets (cache, level=l1|l2, result=hit|miss), business.cache.puts,
+ * business.cache.evictions (açıq evict/clear), business.cache.loads və L1 ölçüsü/ölçüyə görə çıxarılmalar.
+ * <p>
+ * {@code @Cacheable(sync = true)} yolu stampede-dən qorunur: açar başına bu instansiyada tək yükləyici, replikalar
+ * arasında qısa Redis kilidi (kilidi tutmayanlar nəticəni L2-də gözləyir) və bu instansiyanın yüklədiyi dəyərlər üçün
+ * XFetch ehtimallı erkən yeniləmə — TTL bitməzdən əvvəl fon thread-ində, sorğular köhnə dəyəri almağa davam edir.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    // Yalnız bu instansiyanın yüklədiyi dəyərlər: L2-də bitmə vaxtı və yükləmə müddəti (XFetch üçün)
+    private final com.github.benmanes.caffeine.cache.Cache<String, RefreshMeta> refreshMeta;
+    private final Cache remoteCache;
+    private final TwoLevelCacheManager cacheManager;
+
+    private final Counter localHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter evictions;
+    private final Counter loads;
+    private final Counter coalescedLoads;
+    private final Counter earlyRefreshes;
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+    private final Set<String> inFlightRefreshes = ConcurrentHashMap.newKeySet();
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+                         com.github.benmanes.caffeine.cache.Cache<String, RefreshMeta> refreshMeta,
+                         Cache remoteCache,
+                         TwoLevelCacheManager cacheManager,
+                         MeterRegistry meterRegistry) {
+        this.name = name;
+        this.localCache = localCache;
+        this.refreshMeta = refreshMeta;
+        this.remoteCache = remoteCache;
+        this.cacheManager = cacheManager;
+
+        this.localHits = getsCounter(meterRegistry, "l1", "hit");
+        this.remoteHits = getsCounter(meterRegistry, "l2", "hit");
+        this.misses = getsCounter(meterRegistry, "l2", "miss");
+        this.puts = Counter.builder("business.cache.puts").tag("cache", name).register(meterRegistry);
+        this.evictions = Counter.builder("business.cache.evictions").tag("cache", name)
+                .description("Explicit evict/clear calls").register(meterRegistry);
+        this.loads = loadsCounter(meterRegistry, "load");
+        this.coalescedLoads = loadsCounter(meterRegistry, "coalesced");
+        this.earlyRefreshes = loadsCounter(meterRegistry, "early-refresh");
+        Gauge.builder("business.cache.l1.size", localCache, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+                .tag("cache", name).register(meterRegistry);
+        // recordStats() olmadan 0 qalır
+        FunctionCounter.builder("business.cache.l1.size.evictions", localCache, c -> c.stats().evictionCount())
+                .tag("cache", name).register(meterRegistry);
+    }
+
+    private Counter getsCounter(MeterRegistry meterRegistry, String level, String result) {
+        return Counter.builder("business.cache.gets")
+                .tag("cache", name)
+                .tag("level", level)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter loadsCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("business.cache.loads")
+                .tag("cache", name)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remoteCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        cacheManager.recordAccess(name, key);
+        Object localValue = localCache.getIfPresent(localKey(key));
+        if (localValue != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(localValue);
+        }
+        ValueWrapper remoteValue = remoteCache.get(key);
+        if (remoteValue != null && remoteValue.get() != null) {
+            remoteHits.increment();
+            putLocalIfAdmitted(key, remoteValue.get());
+        } else {
+            misses.increment();
+        }
+        return remoteValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            refreshAheadIfDue(key, valueLoader);
+            return (T) wrapper.get();
+        }
+        if (!cacheManager.stampede().isEnabled()) {
+            return loadAndPut(key, valueLoader);
+        }
+        return (T) loadOnce(key, valueLoader);
+    }
+
+    // Eyni açar üçün paralel miss-lər bir yükləməni gözləyir
+    private Object loadOnce(Object key, Callable<?> valueLoader) {
+        String localKey = localKey(key);
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlightLoads.putIfAbsent(localKey, loading);
+        if (existing != null) {
+            coalescedLoads.increment();
+            return await(existing);
+        }
+        try {
+            Object value = loadWithRemoteLock(key, valueLoader);
+            loading.complete(value);
+            return value;
+        } catch (Throwable e) {
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(localKey, loading);
+        }
+    }
+
+    private Object loadWithRemoteLock(Object key, Callable<?> valueLoader) {
+        String token = cacheManager.tryAcquireLoadLock(name, key);
+        if (token == null) {
+            Object value = awaitRemoteValue(key);
+            if (value != null) {
+                return value;
+            }
+            log.debug("Load lock holder for key '{}' in cache '{}' did not finish in time, loading locally.", key, name);
+        }
+        try {
+            return loadAndPut(key, valueLoader);
+        } finally {
+            if (token != null) {
+                cacheManager.releaseLoadLock(name, key, token);
+            }
+        }
+    }
+
+    // Kilidi tutan replikanın yazacağı dəyəri L2-də gözləyir; vaxt bitərsə null
+    private Object awaitRemoteValue(Object key) {
+        NearCacheProperties.Stampede stampede = cacheManager.stampede();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(stampede.getLockWaitMillis());
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(stampede.getPollIntervalMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            ValueWrapper remoteValue = remoteCache.get(key);
+            if (remoteValue != null && remoteValue.get() != null) {
+                remoteHits.increment();
+                putLocalIfAdmitted(key, remoteValue.get());
+                return remoteValue.get();
+            }
+        }
+        return null;
+    }
+
+    private <T> T loadAndPut(Object key, Callable<T> valueLoader) {
+        long startedAt = System.nanoTime();
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        long loadNanos = System.nanoTime() - startedAt;
+        loads.increment();
+        put(key, value);
+        Duration ttl = value != null ? cacheManager.remoteTtl(name, key, value) : null;
+        if (ttl != null) {
+            refreshMeta.put(localKey(key), new RefreshMeta(System.nanoTime() + ttl.toNanos(), loadNanos));
+        }
+        return value;
+    }
+
+    // XFetch: now + loadTime * beta * (-ln(rand)) >= expiry olduqda bir sorğu fon yeniləməsini başladır.
+    // Yükləmə nə qədər uzun sürürsə və bitməyə nə qədər az qalıbsa, yeniləmə ehtimalı o qədər yüksəkdir.
+    private void refreshAheadIfDue(Object key, Callable<?> valueLoader) {
+        NearCacheProperties.Stampede stampede = cacheManager.stampede();
+        if (!stampede.isEnabled() || stampede.getEarlyRefreshBeta() <= 0) {
+            return;
+        }
+        String localKey = localKey(key);
+        RefreshMeta meta = refreshMeta.getIfPresent(localKey);
+        if (meta == null) {
+            return;
+        }
+        double gapNanos = meta.loadNanos() * stampede.getEarlyRefreshBeta() * -Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        if (System.nanoTime() + gapNanos < meta.expiresAtNanos() || !inFlightRefreshes.add(localKey)) {
+            return;
+        }
+        boolean submitted = cacheManager.submitRefresh(() -> {
+            try {
+                String token = cacheManager.tryAcquireLoadLock(name, key);
+                if (token == null) {
+                    // Başqa replika artıq yeniləyir
+                    return;
+                }
+                try {
+                    loadAndPut(key, valueLoader);
+                    earlyRefreshes.increment();
+                    log.debug("Refreshed key '{}' in cache '{}' ahead of expiry.", key, name);
+                } finally {
+                    cacheManager.releaseLoadLock(name, key, token);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Early refresh of key '{}' in cache '{}' failed, entry will expire normally: {}", key, name, e.getMessage());
+            } finally {
+                inFlightRefreshes.remove(localKey);
+            }
+        });
+        if (!submitted) {
+            inFlightRefreshes.remove(localKey);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        puts.increment();
+        refreshMeta.invalidate(localKey(key));
+        remoteCache.put(key, value);
+        if (value != null) {
+            putLocalIfAdmitted(key, value);
+        }
+        cacheManager.publishEviction(name, key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remoteCache.putIfAbsent(key, value);
+        localCache.invalidate(localKey(key));
+        refreshMeta.invalidate(localKey(key));
+        cacheManager.publishEviction(name, key);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictions.increment();
+        remoteCache.evict(key);
+        localCache.invalidate(localKey(key));
+        refreshMeta.invalidate(localKey(key));
+        cacheManager.publishEviction(name, key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        evictions.increment();
+        boolean evicted = remoteCache.evictIfPresent(key);
+        localCache.invalidate(localKey(key));
+        refreshMeta.invalidate(localKey(key));
+        cacheManager.publishEviction(name, key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        evictions.increment();
+        remoteCache.clear();
+        localCache.invalidateAll();
+        refreshMeta.invalidateAll();
+        cacheManager.publishClear(name);
+    }
+
+    Cache getRemoteCache() {
+        return remoteCache;
+    }
+
+    // Multi-get yolunun hit/miss-ləri də eyni sayğaclara düşür
+    Object getLocal(Object key) {
+        cacheManager.recordAccess(name, key);
+        Object value = localCache.getIfPresent(localKey(key));
+        if (value != null) {
+            localHits.increment();
+        }
+        return value;
+    }
+
+    void recordRemoteLookups(int hits, int lookups) {
+        remoteHits.increment(hits);
+        misses.increment(lookups - hits);
+    }
+
+    void putLocal(Object key, Object value) {
+        if (value != null) {
+            putLocalIfAdmitted(key, value);
+        }
+    }
+
+    // Qəbul edilməyən açarın köhnə L1 nüsxəsi də silinir, yoxsa yeni dəyərin yanında köhnəsi oxunardı
+    private void putLocalIfAdmitted(Object key, Object value) {
+        if (cacheManager.admitToLocal(name, key)) {
+            localCache.put(localKey(key), value);
+        } else {
+            localCache.invalidate(localKey(key));
+        }
+    }
+
+    void evictLocal(String key) {
+        log.debug("Evicting local entry '{}' from cache '{}' on remote invalidation.", key, name);
+        localCache.invalidate(key);
+        refreshMeta.invalidate(key);
+    }
+
+    void clearLocal() {
+        log.debug("Clearing local cache '{}' on remote invalidation.", name);
+        localCache.invalidateAll();
+        refreshMeta.invalidateAll();
+    }
+
+    record RefreshMeta(long expiresAtNanos, long loadNanos) {
+    }
+
+    // Redis açarları da String-ə çevrilir, ona görə L1 açarları eyni formada saxlanılır
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.businessservice.cache;
+
+import com.example.businessservice.config.NearCacheProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener, DisposableBean {
+
+    private static final String SEPARATOR = "\n";
+    private static final String OP_EVICT = "E";
+    private static final String OP_CLEAR = "C";
+
+    // Redis əlçatmaz olduqda qaytarılır: yükləmə kilidsiz davam edir
+    static final String NO_LOCK = "";
+    private static final String LOCK_PREFIX = "cache-load-lock:";
+    // Yalnız öz token-imizlə qoyulmuş kilid silinir (TTL bitib başqası götürübsə toxunulmur)
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+    private final RedisCacheManager redisCacheManager;
+    private final NearCacheProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final HotKeyTracker hotKeyTracker;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor refreshExecutor;
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager,
+                                NearCacheProperties properties,
+                                StringRedisTemplate redisTemplate,
+                                MeterRegistry meterRegistry,
+                                HotKeyTracker hotKeyTracker) {
+        this.redisCacheManager = redisCacheManager;
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.hotKeyTracker = hotKeyTracker;
+
+        NearCacheProperties.Stampede stampede = properties.getStampede();
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Növbə dolduqda yeniləmə atılır: dəyər hələ keşdədir, TTL bitəndə adi single-flight yükləməsi işləyəcək
+        this.refreshExecutor = new ThreadPoolExecutor(stampede.getRefreshThreads(), stampede.getRefreshThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(stampede.getRefreshQueueSize()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private TwoLevelCache createCache(String name) {
+        NearCacheProperties.Spec spec = properties.specFor(name);
+        log.info("Creating two-level cache '{}' (L1 maximum size: {}, L1 TTL: {}s).", name, spec.getMaximumSize(), spec.getTtlSeconds());
+        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(spec.getTtlSeconds()))
+                .recordStats()
+                .build();
+        com.github.benmanes.caffeine.cache.Cache<String, TwoLevelCache.RefreshMeta> refreshMeta = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .build();
+        return new TwoLevelCache(name, localCache, refreshMeta, redisCacheManager.getCache(name), this, meterRegistry);
+    }
+
+    // Warm-up üçün ən isti açarlar buradan toplanır; tracker yoxdursa heç nə etmir
+    void recordAccess(String cacheName, Object key) {
+        if (hotKeyTracker != null) {
+            hotKeyTracker.record(cacheName, key);
+        }
+    }
+
+    boolean admitToLocal(String cacheName, Object key) {
+        long minAccesses = properties.specFor(cacheName).getMinAccessesForAdmission();
+        return minAccesses <= 0 || hotKeyTracker == null || hotKeyTracker.estimate(cacheName, key) >= minAccesses;
+    }
+
+    NearCacheProperties.Stampede stampede() {
+        return properties.getStampede();
+    }
+
+    // RedisCache-in TTL funksiyası ilə (jitter daxil) bu dəyərin L2-də nə qədər yaşayacağı; bilinmirsə null
+    Duration remoteTtl(String cacheName, Object key, Object value) {
+        if (redisCacheManager.getCache(cacheName) instanceof RedisCache redisCache) {
+            Duration ttl = redisCache.getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+            return ttl != null && !ttl.isZero() && !ttl.isNegative() ? ttl : null;
+        }
+        return null;
+    }
+
+    // null: kilidi başqa replika tutub
+    String tryAcquireLoadLock(String cacheName, Object key) {
+        String token = instanceId + ":" + UUID.randomUUID();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(lockKey(cacheName, key), token,
+                    Duration.ofMillis(properties.getStampede().getLockTtlMillis()));
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (RuntimeException e) {
+            log.warn("Failed to acquire load lock for key '{}' in cache '{}', loading without it: {}", key, cacheName, e.getMessage());
+            return NO_LOCK;
+        }
+    }
+
+    void releaseLoadLock(String cacheName, Object key, String token) {
+        if (NO_LOCK.equals(token)) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(lockKey(cacheName, key)), token);
+        } catch (RuntimeException e) {
+            // Kilid TTL bitəndə özü açılır
+            log.warn("Failed to release load lock for key '{}' in cache '{}': {}", key, cacheName, e.getMessage());
+        }
+    }
+
+    boolean submitRefresh(Runnable refresh) {
+        try {
+            refreshExecutor.execute(refresh);
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.debug("Cache refresh queue is full, skipping early refresh.");
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private static String lockKey(String cacheName, Object key) {
+        return LOCK_PREFIX + cacheName + "::" + TwoLevelCache.localKey(key);
+    }
+
+    void publishEviction(String cacheName, Object key) {
+        publish(cacheName + SEPARATOR + OP_EVICT + SEPARATOR + TwoLevelCache.localKey(key));
+    }
+
+    void publishClear(String cacheName) {
+        publish(cacheName + SEPARATOR + OP_CLEAR + SEPARATOR);
+    }
+
+    private void publish(String payload) {
+        try {
+            redisTemplate.convertAndSend(properties.getInvalidationChannel(), instanceId + SEPARATOR + payload);
+        } catch (RuntimeException e) {
+            // L1 TTL qısa olduğundan uğursuz bildiriş yalnız müvəqqəti köhnə oxumaya səbəb olur
+            log.warn("Failed to publish cache invalidation message: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+        if (parts.length < 4 || instanceId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (OP_CLEAR.equals(parts[2])) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(parts[3]);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.businessservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
+import org.springframework.data.redis.serializer.SerializationException;
+
+// Bu instansiyanın oxuya bilmədiyi giriş (məs. rollback-dən sonra yeni binary versiya) 500 yox, miss sayılır:
+// giriş silinir və dəyər DB-dən yenidən yüklənib bu instansiyanın formatında yazılır.
+// Digər keş xətaları (Redis əlçatmazdır və s.) əvvəlki kimi ötürülür.
+@Slf4j
+public class UnreadableCacheEntryErrorHandler extends SimpleCacheErrorHandler {
+
+    @Override
+    public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
+        if (!isUnreadable(exception)) {
+            super.handleCacheGetError(exception, cache, key);
+            return;
+        }
+        log.warn("Unreadable entry for key '{}' in cache '{}', treating as a miss: {}", key, cache.getName(), exception.getMessage());
+        try {
+            cache.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict unreadable entry for key '{}' in cache '{}'.", key, cache.getName(), e);
+        }
+    }
+
+    private static boolean isUnreadable(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SerializationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
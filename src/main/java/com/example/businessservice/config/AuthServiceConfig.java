@@ -0,0 +1,9 @@
+package com.example.businessservice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AuthServiceProperties.class)
+public class AuthServiceConfig {
+}
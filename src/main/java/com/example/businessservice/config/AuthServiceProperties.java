@@ -0,0 +1,51 @@
+package com.example.businessservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "business-auth-service")
+public class AuthServiceProperties {
+
+    private String url;
+
+    private RoleCache roleCache = new RoleCache();
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private Retry retry = new Retry();
+
+    private Batch batch = new Batch();
+
+    @Data
+    public static class RoleCache {
+        private long maximumSize = 10000;
+        // Rol dəyişikliyi bu müddət ərzində görünməyə bilər
+        private long ttlSeconds = 60;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        private float failureRateThreshold = 50;
+        private long slowCallDurationThresholdMillis = 1500;
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private long waitDurationInOpenStateSeconds = 10;
+    }
+
+    @Data
+    public static class Retry {
+        // İlk cəhd daxil olmaqla
+        private int maxAttempts = 2;
+        private long waitDurationMillis = 100;
+    }
+
+    @Data
+    public static class Batch {
+        // Auth servisində POST /api/auth/roles mövcud olduqda aktivləşdirilir
+        private boolean enabled = false;
+        private long windowMillis = 5;
+        private int maxSize = 100;
+        private int maxConcurrentBatches = 4;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.businessservice.config;
+
+import com.example.businessservice.cache.BusinessKeyIndex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class BusinessKeyIndexConfig {
+
+    // Digər replikaların yaratdığı/sildiyi bizneslər bu kanal ilə lokal indeksə tətbiq olunur
+    @Bean
+    @ConditionalOnProperty(prefix = "business.key-index", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer businessChangeFeedListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                            BusinessKeyIndex businessKeyIndex) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(businessKeyIndex, new ChannelTopic(businessKeyIndex.getChangeChannel()));
+        return container;
+    }
+}
@@ -1,42 +1,171 @@
 package com.example.businessservice.config;
 
+import com.example.businessservice.cache.BinaryCacheSerializer;
+import com.example.businessservice.cache.HotKeyTracker;
+import com.example.businessservice.cache.NegativeLookupCache;
+import com.example.businessservice.cache.TwoLevelCacheManager;
+import com.example.businessservice.cache.UnreadableCacheEntryErrorHandler;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
 
 @Configuration
-public class CacheConfig {
+@EnableConfigurationProperties({NearCacheProperties.class, CacheWarmUpProperties.class})
+public class CacheConfig implements CachingConfigurer {
 
     @Value("${spring.cache.ttl-seconds}")
     private long ttlSeconds;
 
-    @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
+    // TTL ± bu nisbət: eyni anda yazılmış açarlar eyni anda bitmir
+    @Value("${spring.cache.ttl-jitter:0.1}")
+    private double ttlJitter;
+
+    // HotKeyTracker-in top-K-sındakı açarların Redis TTL-i bu əmsala vurulur (1: söndürülüb)
+    @Value("${spring.cache.hot-key-ttl-multiplier:1}")
+    private double hotKeyTtlMultiplier;
+
+    @Value("${spring.cache.negative-ttl-seconds:30}")
+    private long negativeTtlSeconds;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
 
-        GenericJackson2JsonRedisSerializer serializer =
-                new GenericJackson2JsonRedisSerializer(objectMapper);
+    // json: əvvəlki format; binary: BinaryCacheSerializer (JSON girişlərini də oxuyur, amma köhnə versiya binary-ni oxumur).
+    // binary yalnız bütün replikalar bu versiyaya keçdikdən sonra yandırılmalıdır; rollback-dən əvvəl json-a qaytarılmalıdır.
+    @Value("${spring.cache.serializer:json}")
+    private String serializer;
 
+    @Value("${spring.cache.compression-threshold-bytes:1024}")
+    private int compressionThresholdBytes;
+
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new UnreadableCacheEntryErrorHandler();
+    }
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                     StringRedisTemplate stringRedisTemplate,
+                                     NearCacheProperties nearCacheProperties,
+                                     ObjectProvider<MeterRegistry> meterRegistry,
+                                     ObjectProvider<HotKeyTracker> hotKeyTracker) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofSeconds(ttlSeconds))
+                .entryTtl(jitteredTtl(Duration.ofSeconds(ttlSeconds), ttlJitter))
                 .disableCachingNullValues()
                 .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(serializer)
+                        RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer())
                 );
 
-        return RedisCacheManager.builder(redisConnectionFactory)
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(config)
-                .build();
+                // Near cache söndürüldükdə RedisCache statistikası actuator-un cache metrikalarına düşür
+                .enableStatistics()
+                .withCacheConfiguration(NegativeLookupCache.CACHE_NAME,
+                        config.entryTtl(Duration.ofSeconds(negativeTtlSeconds)));
+        HotKeyTracker tracker = hotKeyTracker.getIfAvailable();
+        if (tracker != null && hotKeyTtlMultiplier > 1) {
+            for (String cacheName : tracker.getTrackedCaches()) {
+                builder.withCacheConfiguration(cacheName,
+                        config.entryTtl(hotKeyAwareTtl(config.getTtlFunction(), cacheName, tracker, hotKeyTtlMultiplier)));
+            }
+        }
+        RedisCacheManager redisCacheManager = builder.build();
+
+        if (!nearCacheProperties.isEnabled()) {
+            return redisCacheManager;
+        }
+        redisCacheManager.afterPropertiesSet();
+        return new TwoLevelCacheManager(redisCacheManager, nearCacheProperties, stringRedisTemplate,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), tracker);
+    }
+
+    // Jitter açarın hash-indən alınır: fərqli açarlar TTL boyu yayılır, eyni açarın TTL-i isə hər yazıda eynidir
+    // (TwoLevelCache erkən yeniləmə üçün bitmə vaxtını Redis-ə müraciət etmədən hesablaya bilir)
+    static RedisCacheWriter.TtlFunction jitteredTtl(Duration ttl, double jitter) {
+        if (jitter <= 0) {
+            return RedisCacheWriter.TtlFunction.just(ttl);
+        }
+        long ttlMillis = ttl.toMillis();
+        return (key, value) -> {
+            int hash = key.hashCode() * 0x9E3779B9;
+            double unit = ((hash >>> 16) & 0xFFFF) / 65535.0;
+            return Duration.ofMillis(ttlMillis + Math.round(ttlMillis * jitter * (2 * unit - 1)));
+        };
+    }
+
+    // İsti açarlar yazılarda onsuz da after-commit invalidasiya olunur, TTL onlar üçün yalnız təhlükəsizlik torudur;
+    // isti açarın TTL ilə düşməsi isə ən bahalı miss-dir (hamı eyni anda DB-yə gedir)
+    static RedisCacheWriter.TtlFunction hotKeyAwareTtl(RedisCacheWriter.TtlFunction ttl, String cacheName,
+                                                      HotKeyTracker tracker, double multiplier) {
+        return (key, value) -> {
+            Duration base = ttl.getTimeToLive(key, value);
+            if (base == null || base.isZero() || base.isNegative() || !tracker.isHot(cacheName, key)) {
+                return base;
+            }
+            return Duration.ofMillis(Math.round(base.toMillis() * multiplier));
+        };
+    }
+
+    private RedisSerializer<Object> cacheValueSerializer() {
+        GenericJackson2JsonRedisSerializer json = jsonCacheSerializer();
+        return switch (serializer) {
+            case "json" -> json;
+            case "binary" -> new BinaryCacheSerializer(json, compressionThresholdBytes);
+            default -> throw new IllegalStateException("Unknown spring.cache.serializer '" + serializer + "'; expected json or binary.");
+        };
+    }
+
+    public static GenericJackson2JsonRedisSerializer jsonCacheSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        // Tip məlumatı olmadan L2-dən oxunan dəyərlər LinkedHashMap kimi qayıdır
+        objectMapper.activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder()
+                        .allowIfSubType("com.example.businessservice.")
+                        .allowIfSubType("java.")
+                        .build(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.near.enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                            CacheManager cacheManager,
+                                                                            NearCacheProperties nearCacheProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        SimpleAsyncTaskExecutor listenerExecutor = new SimpleAsyncTaskExecutor("cache-invalidation-");
+        listenerExecutor.setVirtualThreads(virtualThreads);
+        container.setTaskExecutor(listenerExecutor);
+        container.addMessageListener((TwoLevelCacheManager) cacheManager,
+                new ChannelTopic(nearCacheProperties.getInvalidationChannel()));
+        return container;
     }
 }
@@ -0,0 +1,49 @@
+package com.example.businessservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "business.cache-warmup")
+public class CacheWarmUpProperties {
+
+    private boolean enabled = true;
+
+    // Bu müddət bitəndə yarımçıq qalan regionlar dayandırılır və tətbiq trafik qəbul etməyə başlayır
+    private long timeBudgetSeconds = 20;
+
+    // Hər region üçün ən çox müraciət olunan neçə açar yüklənir
+    private int topN = 500;
+
+    private int parallelism = 4;
+
+    // Bir IN sorğusuna və bir Redis pipeline-a düşən açar sayı
+    private int batchSize = 500;
+
+    private List<String> caches = new ArrayList<>(List.of(
+            "businessById", "businessesByOwnerId", "businessOwnerById", "allBusinessesCache", "businessOwnerPages"));
+
+    private HotKeys hotKeys = new HotKeys();
+
+    @Data
+    public static class HotKeys {
+        private boolean enabled = true;
+        // Tezliyi izlənən regionlar (warm-up regionlarından geniş ola bilər)
+        private List<String> caches = new ArrayList<>(List.of(
+                "businessById", "businessByCompanyName", "businessesByOwnerId", "businessOwnerById",
+                "businessOwnerByAuthUserId", "allBusinessesCache", "businessOwnerPages"));
+        // Count-min sketch ölçüləri (region başına): width * depth sayğac, width ikinin qüvvətinə yuvarlaqlaşdırılır
+        private int sketchDepth = 4;
+        private int sketchWidth = 8192;
+        // Region başına yaddaşda saxlanılan ən isti açar sayı; yalnız bunların sayları Redis-ə yazılır
+        private int topK = 500;
+        private long flushIntervalSeconds = 10;
+        // Redis ZSET-də region başına saxlanılan açar sayı
+        private int maxTrackedKeys = 2000;
+        // Hər flush-da köhnə xallar bu əmsala vurulur: populyarlığı itmiş açarlar tədricən düşür
+        private double decay = 0.9;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.businessservice.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    // Cədvəlləri hələ də ddl-auto=update yaradır: Boot-un default-u kimi JPA-dan əvvəl miqrasiya etsək,
+    // təzə bazada miqrasiyaların toxunduğu cədvəllər hələ olmur. Ona görə burada heç nə edilmir...
+    @Bean
+    public FlywayMigrationStrategy deferredFlywayMigrationStrategy() {
+        return flyway -> {
+        };
+    }
+
+    // ...və miqrasiya EntityManagerFactory (sxem yeniləməsi) hazır olandan sonra, trafik qəbul edilməzdən əvvəl işləyir
+    @Bean
+    public InitializingBean flywayMigrationAfterJpa(ObjectProvider<Flyway> flyway, EntityManagerFactory entityManagerFactory) {
+        // spring.flyway.enabled=false olduqda Flyway bean-i yoxdur
+        return () -> flyway.ifAvailable(Flyway::migrate);
+    }
+}
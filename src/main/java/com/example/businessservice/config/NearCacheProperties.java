@@ -0,0 +1,51 @@
+package com.example.businessservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "spring.cache.near")
+public class NearCacheProperties {
+
+    private boolean enabled = true;
+
+    // Replikalar arasında L1 invalidasiyası üçün Redis pub/sub kanalı
+    private String invalidationChannel = "business-service:cache-invalidation";
+
+    private Spec defaults = new Spec();
+
+    private Map<String, Spec> caches = new HashMap<>();
+
+    private Stampede stampede = new Stampede();
+
+    public Spec specFor(String cacheName) {
+        return caches.getOrDefault(cacheName, defaults);
+    }
+
+    @Data
+    public static class Spec {
+        private long maximumSize = 1000;
+        private long ttlSeconds = 30;
+        // >0 olduqda L1-ə yalnız HotKeyTracker-in təxminən bu qədər müraciət saydığı açarlar düşür;
+        // qalanları L2-dən oxunur və az yer olan near cache-dən isti açarları sıxışdırmır
+        private long minAccessesForAdmission = 0;
+    }
+
+    // @Cacheable(sync = true) yolları üçün: açar başına tək yükləyici, replikalar arası Redis kilidi və XFetch erkən yeniləmə
+    @Data
+    public static class Stampede {
+        private boolean enabled = true;
+        // Kilid sahibi çöksə kilid bu müddətdən sonra özü açılır
+        private long lockTtlMillis = 5000;
+        // Kilidi başqa replika tutubsa onun nəticəsi L2-də bu qədər gözlənilir, sonra özümüz yükləyirik
+        private long lockWaitMillis = 2000;
+        private long pollIntervalMillis = 25;
+        // XFetch beta: 1 standart, >1 daha erkən yeniləyir, 0 erkən yeniləməni söndürür
+        private double earlyRefreshBeta = 1.0;
+        private int refreshThreads = 2;
+        private int refreshQueueSize = 100;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.businessservice.config;
+
+import com.example.businessservice.datasource.ReadYourWrites;
+import com.example.businessservice.datasource.ReadYourWritesFilter;
+import com.example.businessservice.datasource.ReplicaLagMonitor;
+import com.example.businessservice.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// spring.datasource.replica.url verildikdə: yazılar spring.datasource-a (primary), readOnly tranzaksiyalar replikaya.
+// Verilmədikdə Boot-un adi tək DataSource-u qalır.
+@Configuration
+@ConditionalOnProperty(prefix = "spring.datasource.replica", name = "url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties primary, ReplicaDataSourceProperties replica) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername() != null ? replica.getUsername() : primary.determineUsername())
+                .password(replica.getPassword() != null ? replica.getPassword() : primary.determinePassword())
+                .driverClassName(replica.getDriverClassName() != null
+                        ? replica.getDriverClassName()
+                        : primary.determineDriverClassName())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               ReplicaDataSourceProperties properties,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReplicaLagMonitor(replicaDataSource, properties.getLagQuery(), properties.getMaxLagMillis(),
+                properties.getLagCheckIntervalMillis(), meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(ReplicaDataSourceProperties properties) {
+        return new ReadYourWrites(Duration.ofMillis(properties.getReadYourWritesMillis()));
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadYourWrites readYourWrites, ReplicaDataSourceProperties properties) {
+        return new ReadYourWritesFilter(readYourWrites, properties.getClientHeader());
+    }
+
+    // JPA, Flyway və digər hamı bu bean-i alır
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 ReadYourWrites readYourWrites,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+                replicaLagMonitor, readYourWrites, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        routingDataSource.afterPropertiesSet();
+        // Hədəf yalnız ilk SQL-də seçilir: routing-in oxuduğu readOnly bayrağı tranzaksiya başlayandan sonra qoyulur
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
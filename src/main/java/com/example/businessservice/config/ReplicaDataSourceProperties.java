@@ -0,0 +1,33 @@
+package com.example.businessservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// url verildikdə @Transactional(readOnly = true) oxumaları bu replikaya gedir (ReplicaDataSourceConfig)
+@Data
+@ConfigurationProperties(prefix = "spring.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private String url;
+    // Verilmədikdə spring.datasource-dakı dəyərlər istifadə olunur
+    private String username;
+    private String password;
+    private String driverClassName;
+
+    private int maximumPoolSize = 10;
+
+    // Bundan çox geri qalan replika istifadə olunmur, oxumalar primary-yə gedir
+    private long maxLagMillis = 1000;
+
+    private long lagCheckIntervalMillis = 1000;
+
+    // Postgres hot standby: WAL tam tətbiq olunubsa 0 (primary boş olanda replay timestamp-i köhnəlir, lag deyil)
+    private String lagQuery = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+            + "else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0) end";
+
+    // Yazı commit olunandan sonra eyni klientin readOnly oxumaları bu müddət primary-yə gedir
+    private long readYourWritesMillis = 2000;
+
+    // Klienti tanıdan header; olmadıqda stickiness yalnız eyni sorğu daxilində işləyir
+    private String clientHeader = "X-Auth-User-Id";
+}
@@ -1,18 +1,38 @@
 package com.example.businessservice.controller;
 
 
+import com.example.businessservice.exception.InvalidRequestException;
+import com.example.businessservice.logging.LogSampling;
+import com.example.businessservice.model.dto.BulkDeleteResponse;
+import com.example.businessservice.model.dto.CursorPage;
+import com.example.businessservice.model.dto.SearchPage;
+import com.example.businessservice.model.dto.businessDto.BulkCreateBusinessRequest;
+import com.example.businessservice.model.dto.businessDto.BulkCreateBusinessResponse;
+import com.example.businessservice.model.dto.businessDto.BusinessDeletionFilter;
 import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.example.businessservice.model.dto.businessDto.BusinessExistsRequest;
+import com.example.businessservice.model.dto.businessDto.BusinessExistsResponse;
 import com.example.businessservice.model.dto.businessDto.CreateBusinessRequest;
 import com.example.businessservice.model.dto.businessDto.UpdateBusinessRequest;
+import com.example.businessservice.service.BusinessBulkService;
+import com.example.businessservice.service.BusinessSearchService;
 import com.example.businessservice.service.BusinessService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.List;
 
 @RestController
@@ -22,7 +42,15 @@ import java.util.List;
 @Validated
 public class BusinessController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     private final BusinessService businessService;
+    private final BusinessBulkService businessBulkService;
+    private final BusinessSearchService businessSearchService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${business.listing.max-page-size:200}")
+    private int maxPageSize;
 
     @PostMapping
     public ResponseEntity<BusinessDto> createBusiness(
@@ -36,46 +64,104 @@ public class BusinessController {
         return new ResponseEntity<>(createdBusiness, HttpStatus.CREATED);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateBusinessResponse> createBusinesses(
+            @Valid @RequestBody BulkCreateBusinessRequest request) {
+        log.info("Received request to bulk create {} businesses.", request.getItems().size());
+
+        BulkCreateBusinessResponse response = businessBulkService.createBusinesses(request.getItems());
+
+        log.info("Bulk create finished. Created: {}, failed: {}", response.getCreated(), response.getFailed());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BusinessDto> getBusinessById(@PathVariable Long id) {
-        log.info("Received request to fetch business by ID: {}", id);
+        log.debug("Received request to fetch business by ID: {}", id);
 
         BusinessDto businessDto = businessService.getBusinessById(id);
 
-        log.info("Successfully fetched business with ID: {}", id);
+        log.info(LogSampling.SAMPLED, "Successfully fetched business with ID: {}", id);
         return ResponseEntity.ok(businessDto);
     }
 
     @GetMapping("/by-company/{companyName}")
     public ResponseEntity<BusinessDto> getBusinessByCompanyName(@PathVariable String companyName) {
-        log.info("Received request to fetch business by company name: {}", companyName);
+        log.debug("Received request to fetch business by company name: {}", companyName);
 
         BusinessDto businessDto = businessService.getBusinessByCompanyName(companyName);
 
-        log.info("Successfully fetched business with company name: {}", companyName);
+        log.info(LogSampling.SAMPLED, "Successfully fetched business with company name: {}", companyName);
         return ResponseEntity.ok(businessDto);
     }
 
     @GetMapping("/by-owner/{ownerId}")
     public ResponseEntity<List<BusinessDto>> getBusinessesByOwnerId(@PathVariable Long ownerId) {
-        log.info("Received request to fetch businesses by owner ID: {}", ownerId);
+        log.debug("Received request to fetch businesses by owner ID: {}", ownerId);
 
         List<BusinessDto> businesses = businessService.getBusinessesByOwnerId(ownerId);
 
-        log.info("Successfully fetched {} businesses for owner ID: {}", businesses.size(), ownerId);
+        log.info(LogSampling.SAMPLED, "Successfully fetched {} businesses for owner ID: {}", businesses.size(), ownerId);
         return ResponseEntity.ok(businesses);
     }
 
     @GetMapping
-    public ResponseEntity<List<BusinessDto>> getAllBusinesses() {
-        log.info("Received request to fetch all businesses.");
+    public ResponseEntity<CursorPage<BusinessDto>> getAllBusinesses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.debug("Received request to fetch businesses page (cursor: {}, limit: {}).", cursor, limit);
 
-        List<BusinessDto> businesses = businessService.getAllBusinesses();
+        long afterId = CursorPage.decodeCursor(cursor);
+        CursorPage<BusinessDto> page = businessService.getBusinessesPage(afterId, CursorPage.clampLimit(limit, maxPageSize));
 
-        log.info("Successfully fetched {} businesses.", businesses.size());
+        log.info(LogSampling.SAMPLED, "Successfully fetched {} businesses.", page.getItems().size());
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<BusinessDto>> getBusinessesByIds(@RequestParam List<Long> ids) {
+        log.debug("Received request to fetch {} businesses by ID list.", ids.size());
+        if (ids.size() > maxPageSize) {
+            throw new InvalidRequestException("At most " + maxPageSize + " ids can be fetched in one request.");
+        }
+
+        List<BusinessDto> businesses = businessService.getBusinessesByIds(ids);
+
+        log.info(LogSampling.SAMPLED, "Successfully fetched {} of {} requested businesses.", businesses.size(), ids.size());
         return ResponseEntity.ok(businesses);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<SearchPage<BusinessDto>> searchBusinesses(
+            @RequestParam String q,
+            @RequestParam(required = false) String businessType,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("Received request to search businesses (q: {}, businessType: {}, page: {}, size: {}).", q, businessType, page, size);
+
+        SearchPage<BusinessDto> result = businessSearchService.searchBusinesses(q, businessType, Math.max(page, 0), CursorPage.clampLimit(size, maxPageSize));
+
+        log.info(LogSampling.SAMPLED, "Search returned {} of {} matching businesses.", result.getItems().size(), result.getTotal());
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping(value = "/stream", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllBusinesses() {
+        log.debug("Received request to stream all businesses as NDJSON.");
+
+        StreamingResponseBody body = outputStream -> businessService.streamAllBusinesses(businessDto -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(businessDto));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<BusinessDto> updateBusiness(
             @PathVariable Long id,
@@ -103,15 +189,52 @@ public class BusinessController {
     public ResponseEntity<Void> deleteAllBusinesses() {
         log.warn("Received request to delete ALL businesses. This operation should be used with caution!");
 
-        businessService.deleteAllBusinesses();
+        long deleted = businessBulkService.deleteAllBusinesses();
 
-        log.info("All businesses deleted successfully.");
+        log.info("All businesses deleted successfully. Count: {}", deleted);
         return ResponseEntity.noContent().build();
     }
 
+    // Filtrə uyğun bizneslər chunk-larla, hər chunk bir DELETE ... WHERE id IN (...) ilə silinir
+    @DeleteMapping
+    public ResponseEntity<BulkDeleteResponse> deleteBusinesses(@ModelAttribute BusinessDeletionFilter filter) {
+        log.warn("Received request to delete businesses matching filter: {}", filter);
+        if (filter.isEmpty()) {
+            throw new InvalidRequestException("At least one filter (ownerId, businessType, createdFrom, createdTo) is required. Use DELETE /api/businesses/all to delete everything.");
+        }
+
+        long deleted = businessBulkService.deleteBusinesses(filter);
+
+        log.info("{} businesses deleted by filter.", deleted);
+        return ResponseEntity.ok(new BulkDeleteResponse(deleted));
+    }
+
+    @PostMapping("/exists")
+    public ResponseEntity<BusinessExistsResponse> doBusinessesExist(
+            @Valid @RequestBody BusinessExistsRequest request,
+            @RequestParam(defaultValue = "bitmap") String format) {
+        log.debug("Checking existence of {} businesses (format: {}).", request.getIds().size(), format);
+        if (!format.equals("bitmap") && !format.equals("ids")) {
+            throw new InvalidRequestException("Unsupported format: " + format + ". Use 'bitmap' or 'ids'.");
+        }
+
+        List<Long> ids = request.getIds();
+        BitSet existing = businessService.findExistingBusinesses(ids);
+
+        BusinessExistsResponse.BusinessExistsResponseBuilder response = BusinessExistsResponse.builder()
+                .requested(ids.size())
+                .existing(existing.cardinality());
+        if (format.equals("bitmap")) {
+            response.bitmap(Base64.getEncoder().encodeToString(existing.toByteArray()));
+        } else {
+            response.existingIds(existing.stream().mapToObj(ids::get).distinct().toList());
+        }
+        return ResponseEntity.ok(response.build());
+    }
+
     @GetMapping("/{id}/exists")
     public ResponseEntity<Boolean> doesBusinessExistById(@PathVariable Long id) {
-        log.info("Checking if customer exists with Auth User ID: {}",id);
+        log.debug("Checking if business exists with ID: {}", id);
         boolean exists = businessService.doesBusinessExistById(id);
         return ResponseEntity.ok(exists);
     }
@@ -1,12 +1,19 @@
 package com.example.businessservice.controller;
 
+import com.example.businessservice.exception.InvalidRequestException;
+import com.example.businessservice.logging.LogSampling;
+import com.example.businessservice.model.dto.CursorPage;
+import com.example.businessservice.model.dto.SearchPage;
 import com.example.businessservice.model.dto.businessOwnerdto.BusinessOwnerDto;
+import com.example.businessservice.model.dto.businessOwnerdto.BusinessOwnerWithBusinessesDto;
 import com.example.businessservice.model.dto.businessOwnerdto.CreateBusinessOwnerRequest;
 import com.example.businessservice.model.dto.businessOwnerdto.UpdateBusinessOwnerRequest;
 import com.example.businessservice.service.BusinessOwnerService;
+import com.example.businessservice.service.BusinessSearchService;
 import jakarta.persistence.PrePersist;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -23,6 +30,10 @@ import java.util.List;
 public class BusinessOwnerController {
 
     private final BusinessOwnerService businessOwnerService;
+    private final BusinessSearchService businessSearchService;
+
+    @Value("${business.listing.max-page-size:200}")
+    private int maxPageSize;
 
     @PostMapping
     public ResponseEntity<BusinessOwnerDto> createBusinessOwner(
@@ -36,34 +47,86 @@ public class BusinessOwnerController {
 
     @GetMapping("/{id}")
     public ResponseEntity<BusinessOwnerDto> getBusinessOwnerById(@PathVariable Long id) {
-        log.info("Received request to fetch business owner profile by ID: {}", id);
+        log.debug("Received request to fetch business owner profile by ID: {}", id);
 
         BusinessOwnerDto ownerDto = businessOwnerService.getBusinessOwnerById(id);
 
-        log.info("Successfully fetched business owner profile with ID: {}", id);
+        log.info(LogSampling.SAMPLED, "Successfully fetched business owner profile with ID: {}", id);
         return ResponseEntity.ok(ownerDto);
     }
 
+    @GetMapping("/{id}/full")
+    public ResponseEntity<BusinessOwnerWithBusinessesDto> getBusinessOwnerWithBusinesses(@PathVariable Long id) {
+        log.debug("Received request to fetch business owner profile with businesses by ID: {}", id);
+
+        BusinessOwnerWithBusinessesDto aggregate = businessOwnerService.getBusinessOwnerWithBusinesses(id);
+
+        log.info(LogSampling.SAMPLED, "Successfully fetched business owner profile with ID: {} and {} businesses.", id, aggregate.getBusinesses().size());
+        return ResponseEntity.ok(aggregate);
+    }
+
+    @GetMapping("/full")
+    public ResponseEntity<CursorPage<BusinessOwnerWithBusinessesDto>> getAllBusinessOwnersWithBusinesses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.debug("Received request to fetch business owner profiles with businesses page (cursor: {}, limit: {}).", cursor, limit);
+
+        long afterId = CursorPage.decodeCursor(cursor);
+        CursorPage<BusinessOwnerWithBusinessesDto> page = businessOwnerService.getBusinessOwnersWithBusinessesPage(afterId, CursorPage.clampLimit(limit, maxPageSize));
+
+        log.info(LogSampling.SAMPLED, "Successfully fetched {} business owner profiles with businesses.", page.getItems().size());
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/by-auth/{authUserId}")
     public ResponseEntity<BusinessOwnerDto> getBusinessOwnerByAuthUserId(@PathVariable Long authUserId) {
-        log.info("Received request to fetch business owner profile by Auth User ID: {}", authUserId);
+        log.debug("Received request to fetch business owner profile by Auth User ID: {}", authUserId);
 
         BusinessOwnerDto ownerDto = businessOwnerService.getBusinessOwnerByAuthUserId(authUserId);
 
-        log.info("Successfully fetched business owner profile for Auth User ID: {}", authUserId);
+        log.info(LogSampling.SAMPLED, "Successfully fetched business owner profile for Auth User ID: {}", authUserId);
         return ResponseEntity.ok(ownerDto);
     }
 
     @GetMapping
-    public ResponseEntity<List<BusinessOwnerDto>> getAllBusinessOwners() {
-        log.info("Received request to fetch all business owner profiles.");
+    public ResponseEntity<CursorPage<BusinessOwnerDto>> getAllBusinessOwners(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.debug("Received request to fetch business owner profiles page (cursor: {}, limit: {}).", cursor, limit);
 
-        List<BusinessOwnerDto> owners = businessOwnerService.getAllBusinessOwners();
+        long afterId = CursorPage.decodeCursor(cursor);
+        CursorPage<BusinessOwnerDto> page = businessOwnerService.getBusinessOwnersPage(afterId, CursorPage.clampLimit(limit, maxPageSize));
 
-        log.info("Successfully fetched {} business owner profiles.", owners.size());
+        log.info(LogSampling.SAMPLED, "Successfully fetched {} business owner profiles.", page.getItems().size());
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<BusinessOwnerDto>> getBusinessOwnersByIds(@RequestParam List<Long> ids) {
+        log.debug("Received request to fetch {} business owner profiles by ID list.", ids.size());
+        if (ids.size() > maxPageSize) {
+            throw new InvalidRequestException("At most " + maxPageSize + " ids can be fetched in one request.");
+        }
+
+        List<BusinessOwnerDto> owners = businessOwnerService.getBusinessOwnersByIds(ids);
+
+        log.info(LogSampling.SAMPLED, "Successfully fetched {} of {} requested business owner profiles.", owners.size(), ids.size());
         return ResponseEntity.ok(owners);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<SearchPage<BusinessOwnerDto>> searchBusinessOwners(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("Received request to search business owner profiles (q: {}, page: {}, size: {}).", q, page, size);
+
+        SearchPage<BusinessOwnerDto> result = businessSearchService.searchBusinessOwners(q, Math.max(page, 0), CursorPage.clampLimit(size, maxPageSize));
+
+        log.info(LogSampling.SAMPLED, "Search returned {} of {} matching business owner profiles.", result.getItems().size(), result.getTotal());
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<BusinessOwnerDto> updateBusinessOwner(
             @PathVariable Long id,
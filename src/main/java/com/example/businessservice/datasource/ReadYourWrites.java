@@ -0,0 +1,68 @@
+package com.example.businessservice.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+// Yazı commit olunandan sonra həmin sorğunun və pəncərə ərzində eyni klientin sonrakı sorğularının
+// readOnly oxumaları primary-yə gedir: klient öz yazısını hələ tətbiq etməmiş replikadan oxumur.
+// Klient bu instansiyanın yaddaşında saxlanılır; başqa instansiyaya düşən sorğu üçün lag tolerance qalır.
+public class ReadYourWrites {
+
+    private static final ThreadLocal<RequestState> CURRENT = new ThreadLocal<>();
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    // clientKey null ola bilər: o zaman yalnız eyni sorğu daxilindəki yazılar nəzərə alınır
+    public void beginRequest(String clientKey) {
+        CURRENT.set(new RequestState(clientKey));
+    }
+
+    public void endRequest() {
+        CURRENT.remove();
+    }
+
+    boolean mustReadFromPrimary() {
+        RequestState state = CURRENT.get();
+        if (state == null) {
+            return false;
+        }
+        return state.wroteInRequest || (state.clientKey != null && recentWriters.getIfPresent(state.clientKey) != null);
+    }
+
+    // Yazı tranzaksiyası connection alanda çağırılır; klient yalnız commit olduqda primary-yə bağlanır
+    void writeTransactionStarted() {
+        RequestState state = CURRENT.get();
+        if (state == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                state.wroteInRequest = true;
+                if (state.clientKey != null) {
+                    recentWriters.put(state.clientKey, Boolean.TRUE);
+                }
+            }
+        });
+    }
+
+    private static final class RequestState {
+        private final String clientKey;
+        private volatile boolean wroteInRequest;
+
+        private RequestState(String clientKey) {
+            this.clientKey = clientKey;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.businessservice.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReadYourWrites readYourWrites;
+    private final String clientHeader;
+
+    public ReadYourWritesFilter(ReadYourWrites readYourWrites, String clientHeader) {
+        this.readYourWrites = readYourWrites;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        readYourWrites.beginRequest(request.getHeader(clientHeader));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWrites.endRequest();
+        }
+    }
+}
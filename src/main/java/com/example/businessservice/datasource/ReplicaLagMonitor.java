@@ -0,0 +1,79 @@
+package com.example.businessservice.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Replikanın gecikməsini periodik ölçür. İlk uğurlu yoxlamaya qədər, sorğu xəta verdikdə və ya gecikmə
+// maxLagMillis-i keçdikdə replika istifadəyə yararsız sayılır və oxumalar primary-yə gedir.
+@Slf4j
+public class ReplicaLagMonitor implements InitializingBean, DisposableBean {
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final long checkIntervalMillis;
+    private final ScheduledExecutorService checkExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile long lagMillis = -1;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, long maxLagMillis, long checkIntervalMillis,
+                             MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.replicaJdbcTemplate.setQueryTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(checkIntervalMillis)));
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.checkIntervalMillis = checkIntervalMillis;
+        // -1: replika əlçatmazdır
+        Gauge.builder("business.datasource.replica.lag", this, monitor -> monitor.lagMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        checkExecutor.scheduleWithFixedDelay(this::check, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        checkExecutor.shutdownNow();
+    }
+
+    void check() {
+        boolean wasUsable = usable;
+        try {
+            Number lag = replicaJdbcTemplate.queryForObject(lagQuery, Number.class);
+            lagMillis = lag != null ? lag.longValue() : 0;
+            usable = lagMillis <= maxLagMillis;
+            if (wasUsable && !usable) {
+                log.warn("Replica lag {} ms exceeds {} ms; read-only transactions go to the primary.", lagMillis, maxLagMillis);
+            } else if (!wasUsable && usable) {
+                log.info("Replica lag {} ms is within {} ms; read-only transactions go to the replica.", lagMillis, maxLagMillis);
+            }
+        } catch (RuntimeException e) {
+            lagMillis = -1;
+            usable = false;
+            if (wasUsable) {
+                log.warn("Replica lag check failed; read-only transactions go to the primary: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.businessservice.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// LazyConnectionDataSourceProxy arxasında işləyir: connection ilk SQL-də alınır, o vaxta tranzaksiyanın
+// readOnly bayrağı artıq qoyulub. Yazılar, tranzaksiyasız çağırışlar və yazı tranzaksiyası daxilindəki
+// readOnly metodlar primary-də qalır.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWrites readYourWrites;
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+    private final Counter laggingReplicaReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.replicaReads = readsCounter(meterRegistry, "replica", "read-only");
+        this.stickyReads = readsCounter(meterRegistry, "primary", "read-your-writes");
+        this.laggingReplicaReads = readsCounter(meterRegistry, "primary", "replica-lag");
+    }
+
+    private static Counter readsCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("business.datasource.reads")
+                .tag("target", target)
+                .tag("reason", reason)
+                .description("Read-only transactions by the datasource they were routed to")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWrites.writeTransactionStarted();
+            }
+            return Target.PRIMARY;
+        }
+        if (readYourWrites.mustReadFromPrimary()) {
+            stickyReads.increment();
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            laggingReplicaReads.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.businessservice.exception;
+
+import org.hibernate.JDBCException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+// DataIntegrityViolationException-dan pozulan constraint-in adını çıxarır
+public final class ConstraintViolations {
+
+    public static final String UNIQUE_VIOLATION = "23505";
+    public static final String FOREIGN_KEY_VIOLATION = "23503";
+
+    private ConstraintViolations() {
+    }
+
+    public static String constraintName(DataIntegrityViolationException ex) {
+        Throwable cause = ex.getCause();
+        while (cause != null) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName();
+            }
+            cause = cause.getCause();
+        }
+        return null;
+    }
+
+    public static String sqlState(DataIntegrityViolationException ex) {
+        Throwable cause = ex.getCause();
+        while (cause != null) {
+            if (cause instanceof JDBCException jdbcException && jdbcException.getSQLState() != null) {
+                return jdbcException.getSQLState();
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                return sqlException.getSQLState();
+            }
+            cause = cause.getCause();
+        }
+        return null;
+    }
+
+    public static boolean violates(DataIntegrityViolationException ex, String constraintName) {
+        String violated = constraintName(ex);
+        // H2 kimi bəzi bazalar adı böyük hərflə və ya əlavə təfərrüatla qaytarır
+        return violated != null && violated.toLowerCase().contains(constraintName.toLowerCase());
+    }
+
+    // Adı V2 miqrasiyasından əvvəl yaranmış bazalarda constraint Hibernate-in generasiya etdiyi adı daşıya bilər:
+    // ad uyğun gəlmədikdə SQLSTATE və sütun adı ilə yoxlanılır.
+    // Postgres: "Key (company_name)=(...) already exists", H2: "... ON PUBLIC.BUSINESSES(COMPANY_NAME ...)"
+    public static boolean violates(DataIntegrityViolationException ex, String constraintName, String sqlState, String column) {
+        if (violates(ex, constraintName)) {
+            return true;
+        }
+        if (!sqlState.equals(sqlState(ex))) {
+            return false;
+        }
+        String message = ex.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains("(" + column.toLowerCase());
+    }
+}
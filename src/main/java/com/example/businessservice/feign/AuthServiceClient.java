@@ -3,6 +3,11 @@ package com.example.businessservice.feign;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Collection;
+import java.util.Map;
 
 @FeignClient(name = "business-auth-service", url = "${business-auth-service.url}")
 public interface AuthServiceClient {
@@ -12,4 +17,8 @@ public interface AuthServiceClient {
 
     @GetMapping("/api/auth/{authUserId}/role")
     String getUserRole(@PathVariable("authUserId") Long authUserId);
+
+    // authUserId -> rol; auth sistemində olmayan id-lər cavabda yer almır
+    @PostMapping("/api/auth/roles")
+    Map<Long, String> getUserRoles(@RequestBody Collection<Long> authUserIds);
 }
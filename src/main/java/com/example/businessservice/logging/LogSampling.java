@@ -0,0 +1,13 @@
+package com.example.businessservice.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+// Yüksək tezlikli uğur logları bu marker ilə yazılır; SamplingTurboFilter onların yalnız 1/N hissəsini buraxır
+public final class LogSampling {
+
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private LogSampling() {
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.businessservice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Logging event yaradılmazdan əvvəl işləyir: rədd edilən log üçün nə obyekt, nə də mesaj formatlaması olur.
+// WARN və yuxarı heç vaxt seçmə ilə atılmır. rate <= 1: hamısı yazılır.
+public class SamplingTurboFilter extends TurboFilter {
+
+    private int rate = 1;
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (rate <= 1 || marker != LogSampling.SAMPLED || level == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        // Paylaşılan sayğac yoxdur: thread-lər arasında contention olmur
+        return ThreadLocalRandom.current().nextInt(rate) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
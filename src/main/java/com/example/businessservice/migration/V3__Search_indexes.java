@@ -0,0 +1,120 @@
+package com.example.businessservice.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Axtarış indeksləri (BusinessRepository/BusinessOwnerRepository.SEARCH_MATCH). Bir dəfə işləyir və indeksləri
+// CONCURRENTLY qurur ki, böyük cədvəllərdə yazılar bloklanmasın. CONCURRENTLY tranzaksiya daxilində işləmədiyi üçün
+// miqrasiya autocommit rejimində icra olunur. Sinif adı Flyway-in versiya konvensiyasıdır (V3, "Search indexes").
+@Component
+@Slf4j
+public class V3__Search_indexes extends BaseJavaMigration {
+
+    private static final List<SearchIndex> INDEXES = List.of(
+            // companyName: prefix (ILIKE 'abc%') və fuzzy (%) axtarış
+            new SearchIndex("idx_businesses_company_name_trgm", true,
+                    "businesses USING gin (company_name gin_trgm_ops)"),
+            // description: söz oxşarlığı (<%)
+            new SearchIndex("idx_businesses_description_trgm", true,
+                    "businesses USING gin (description gin_trgm_ops)"),
+            // İfadə BusinessRepository.SEARCH_MATCH-dakı ilə eyni olmalıdır, əks halda indeks istifadə olunmur
+            new SearchIndex("idx_businesses_search_tsv", false,
+                    "businesses USING gin (to_tsvector('simple', coalesce(company_name, '') || ' ' || coalesce(description, '')))"),
+            new SearchIndex("idx_businesses_business_type", false,
+                    "businesses (business_type)"),
+            // İfadə BusinessOwnerRepository.SEARCH_MATCH-dakı ilə eyni olmalıdır
+            new SearchIndex("idx_business_owner_profiles_search_tsv", false,
+                    "business_owner_profiles USING gin (to_tsvector('simple', coalesce(skills, '') || ' ' || coalesce(job_title, '') || ' ' || coalesce(bio, '')))"),
+            new SearchIndex("idx_business_owner_profiles_job_title_trgm", true,
+                    "business_owner_profiles USING gin (job_title gin_trgm_ops)"),
+            new SearchIndex("idx_business_owner_profiles_skills_trgm", true,
+                    "business_owner_profiles USING gin (skills gin_trgm_ops)"));
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+            log.debug("Search indexes are PostgreSQL-specific, skipping.");
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            boolean trigram = ensureTrigramExtension(statement);
+            for (SearchIndex index : INDEXES) {
+                // Axtarış extension olmadan trigram-sız predikata keçir (TrigramSupport); extension sonradan qurularsa
+                // TrigramSupport çatışmayan indekslərin DDL-ini loglayır
+                if (index.trigram() && !trigram) {
+                    log.warn("Skipping search index {}: pg_trgm is not installed. Once it is, run: {}", index.name(), index.createStatement());
+                    continue;
+                }
+                // Yarımçıq qalmış CONCURRENTLY qurulması INVALID indeks buraxır; IF NOT EXISTS onu keçərdi
+                if (isInvalid(connection, index.name())) {
+                    statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index.name());
+                }
+                log.info("Creating search index {}.", index.name());
+                statement.execute(index.createStatement());
+            }
+        }
+    }
+
+    // Tətbiqin rolunun extension yaratmağa icazəsi olmaya bilər (o halda DBA yaradır): bu, startup-ı dayandırmır,
+    // yalnız trigram indeksləri atlanır
+    private boolean ensureTrigramExtension(Statement statement) throws SQLException {
+        try (ResultSet installed = statement.executeQuery("SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm'")) {
+            if (installed.next()) {
+                return true;
+            }
+        }
+        try {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            return true;
+        } catch (SQLException e) {
+            log.warn("Could not create extension pg_trgm: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean isInvalid(Connection connection, String indexName) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT 1 FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid "
+                        + "WHERE c.relname = ? AND pg_table_is_visible(c.oid) AND NOT i.indisvalid")) {
+            query.setString(1, indexName);
+            try (ResultSet result = query.executeQuery()) {
+                return result.next();
+            }
+        }
+    }
+
+    // Ad -> CREATE INDEX CONCURRENTLY statement-i
+    public static Map<String, String> trigramIndexStatements() {
+        Map<String, String> statements = new LinkedHashMap<>();
+        for (SearchIndex index : INDEXES) {
+            if (index.trigram()) {
+                statements.put(index.name(), index.createStatement());
+            }
+        }
+        return statements;
+    }
+
+    private record SearchIndex(String name, boolean trigram, String definition) {
+
+        String createStatement() {
+            return "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " ON " + definition;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.businessservice.model.dto;
+
+import com.example.businessservice.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    private List<T> items;
+    private String nextCursor; // null olduqda növbəti səhifə yoxdur
+    private int limit;
+
+    public static String encodeCursor(Long lastId) {
+        if (lastId == null) {
+            return null;
+        }
+        byte[] raw = (CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(CURSOR_PREFIX)) {
+                throw new InvalidCursorException("Invalid page cursor: " + cursor);
+            }
+            long lastId = Long.parseLong(raw.substring(CURSOR_PREFIX.length()));
+            if (lastId < 0) {
+                throw new InvalidCursorException("Invalid page cursor: " + cursor);
+            }
+            return lastId;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid page cursor: " + cursor);
+        }
+    }
+
+    public static int clampLimit(int requested, int max) {
+        return Math.max(1, Math.min(requested, max));
+    }
+}
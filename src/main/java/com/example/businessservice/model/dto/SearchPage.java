@@ -0,0 +1,22 @@
+package com.example.businessservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchPage<T> {
+    private List<T> items;
+    private long total;
+    private int page;
+    private int size;
+    // Dəyər -> uyğun nəticə sayı; filtr tətbiq olunmadan hesablanır ki, UI digər seçimləri də göstərə bilsin
+    private Map<String, Long> facets;
+}
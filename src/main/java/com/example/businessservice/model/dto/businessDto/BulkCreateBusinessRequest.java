@@ -0,0 +1,19 @@
+package com.example.businessservice.model.dto.businessDto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCreateBusinessRequest {
+
+    @NotEmpty(message = "At least one business is required")
+    @Size(max = 5000, message = "At most 5000 businesses can be created in one request")
+    private List<@Valid CreateBusinessRequest> items;
+}
@@ -0,0 +1,16 @@
+package com.example.businessservice.model.dto.businessDto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCreateBusinessResponse {
+
+    private int created;
+    private int failed;
+    private List<BulkItemResult> results;
+}
@@ -0,0 +1,21 @@
+package com.example.businessservice.model.dto.businessDto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkItemResult {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE_COMPANY_NAME,
+        OWNER_NOT_FOUND
+    }
+
+    private int index; // sorğudakı elementin sırası
+    private Status status;
+    private Long id;
+    private String message;
+}
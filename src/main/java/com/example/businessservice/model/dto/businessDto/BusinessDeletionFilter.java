@@ -0,0 +1,27 @@
+package com.example.businessservice.model.dto.businessDto;
+
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BusinessDeletionFilter {
+
+    private Long ownerId;
+
+    private String businessType;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom; // daxil
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo; // daxil deyil
+
+    public boolean isEmpty() {
+        return ownerId == null && businessType == null && createdFrom == null && createdTo == null;
+    }
+}
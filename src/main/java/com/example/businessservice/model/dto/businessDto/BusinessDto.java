@@ -9,6 +9,7 @@ import java.time.LocalDateTime;
 import java.util.Set;
 
 @Data
+@NoArgsConstructor
 public class BusinessDto {
 
     private Long id;
@@ -38,4 +39,21 @@ public class BusinessDto {
         this.updatedAt = business.getUpdatedAt();
 
     }
+
+    // JPQL constructor expression üçün: owner_id birbaşa sütundan oxunur, owner proxy-si yüklənmir
+    public BusinessDto(Long id, String companyName, String businessType, String description, String website,
+                       String email, String phone, String address, LocalDateTime createdAt,
+                       LocalDateTime updatedAt, Long ownerId) {
+        this.id = id;
+        this.companyName = companyName;
+        this.businessType = businessType;
+        this.description = description;
+        this.website = website;
+        this.email = email;
+        this.phone = phone;
+        this.address = address;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.ownerId = ownerId;
+    }
 }
@@ -0,0 +1,19 @@
+package com.example.businessservice.model.dto.businessDto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BusinessExistsRequest {
+
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = 10000, message = "At most 10000 ids can be checked in one request")
+    private List<@NotNull Long> ids;
+}
@@ -0,0 +1,24 @@
+package com.example.businessservice.model.dto.businessDto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BusinessExistsResponse {
+
+    private int requested;
+    private int existing;
+
+    // format=bitmap: Base64; i-ci bit (hər baytda ən kiçik bitdən başlayaraq) sorğudakı ids[i]-yə uyğundur.
+    // 10000 id üçün ~1.7 KB
+    private String bitmap;
+
+    // format=ids: mövcud olan id-lər
+    private List<Long> existingIds;
+}
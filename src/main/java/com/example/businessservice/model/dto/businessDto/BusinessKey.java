@@ -0,0 +1,8 @@
+package com.example.businessservice.model.dto.businessDto;
+
+// İndeks qurulması üçün yalnız açar sütunları oxuyan projection
+public interface BusinessKey {
+    Long getId();
+
+    String getCompanyName();
+}
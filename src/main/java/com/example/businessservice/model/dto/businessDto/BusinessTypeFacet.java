@@ -0,0 +1,8 @@
+package com.example.businessservice.model.dto.businessDto;
+
+// Native facet sorğusu üçün projection
+public interface BusinessTypeFacet {
+    String getBusinessType();
+
+    Long getTotal();
+}
@@ -0,0 +1,20 @@
+package com.example.businessservice.model.dto.businessOwnerdto;
+
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Profil səhifəsi üçün aqreqat: sahib və onun biznesləri bir cavabda, keşdə də bir vahid kimi saxlanılır
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BusinessOwnerWithBusinessesDto {
+
+    private BusinessOwnerDto owner;
+    private List<BusinessDto> businesses;
+}
@@ -4,25 +4,33 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "businesses") // Şirkət məlumatları cədvəli
+@Table(name = "businesses", // Şirkət məlumatları cədvəli
+        uniqueConstraints = @UniqueConstraint(name = Business.UK_COMPANY_NAME, columnNames = "companyName"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Data
 public class Business {
 
+    // Adlar sabitdir: create zamanı konflikt pre-check select ilə yox, constraint adına görə tanınır
+    public static final String UK_COMPANY_NAME = "uk_businesses_company_name";
+    public static final String FK_OWNER = "fk_businesses_owner";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "businesses_seq")
+    @SequenceGenerator(name = "businesses_seq", sequenceName = "businesses_seq", allocationSize = 50) // pooled: insert batching üçün
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String companyName;
 
     @Column(nullable = false, length = 100)
@@ -52,6 +60,8 @@ public class Business {
     private LocalDateTime updatedAt;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "owner_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @JoinColumn(name = "owner_id", nullable = false, foreignKey = @ForeignKey(name = FK_OWNER))
     private BusinessOwner owner;
 }
\ No newline at end of file
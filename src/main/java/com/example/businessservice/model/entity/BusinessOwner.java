@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,18 +16,24 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "business_owner_profiles")
+@Table(name = "business_owner_profiles", uniqueConstraints = {
+        @UniqueConstraint(name = BusinessOwner.UK_AUTH_USER_ID, columnNames = "authUserId"),
+        @UniqueConstraint(name = BusinessOwner.UK_EMAIL, columnNames = "email")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Data
 public class BusinessOwner {
 
+    public static final String UK_AUTH_USER_ID = "uk_business_owner_profiles_auth_user_id";
+    public static final String UK_EMAIL = "uk_business_owner_profiles_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private Long authUserId;
 
     @Column(nullable = false, length = 50)
@@ -43,7 +51,7 @@ public class BusinessOwner {
     @Column(columnDefinition = "TEXT")
     private String skills;
 
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String email;
 
     @Column(length = 20)
@@ -72,6 +80,8 @@ public class BusinessOwner {
 
     @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default // Lombok @Builder istifadə edərkən boş kolleksiya yaratmaq üçün
+    @EqualsAndHashCode.Exclude // İkitərəfli əlaqə: equals/hashCode/toString sonsuz rekursiyaya və lazy yükləməyə səbəb olmasın
+    @ToString.Exclude
     private Set<Business> businesses = new HashSet<>();
 
 
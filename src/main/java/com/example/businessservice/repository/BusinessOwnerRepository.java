@@ -1,9 +1,14 @@
 package com.example.businessservice.repository;
 
 import com.example.businessservice.model.entity.BusinessOwner;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +18,51 @@ public interface BusinessOwnerRepository extends JpaRepository<BusinessOwner, Lo
 
     Optional<BusinessOwner> findByEmail(String email);
 
+    List<BusinessOwner> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    // Sahib və biznesləri bir fetch-join sorğusu ilə
+    @Query("select distinct o from BusinessOwner o left join fetch o.businesses where o.id = :id")
+    Optional<BusinessOwner> findWithBusinessesById(@Param("id") Long id);
+
+    @Query("select o.id from BusinessOwner o order by o.id")
+    List<Long> findIdChunk(Pageable pageable);
+
+    @Query("select o.id from BusinessOwner o where o.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // tsvector ifadəsi V3__Search_indexes miqrasiyasındakı indekslə eyni olmalıdır
+    String SEARCH_DOCUMENT = "to_tsvector('simple', coalesce(o.skills, '') || ' ' || coalesce(o.job_title, '') || ' ' || coalesce(o.bio, ''))";
+
+    String SEARCH_MATCH = "(" + SEARCH_DOCUMENT + " @@ plainto_tsquery('simple', :q) "
+            + "OR o.job_title ILIKE :prefix "
+            + "OR o.job_title % :q "
+            + "OR :q <% o.skills) ";
+
+    // pg_trgm qurulmayıbsa (TrigramSupport): yalnız tam mətn və job title prefix uyğunluğu
+    String BASIC_SEARCH_MATCH = "(" + SEARCH_DOCUMENT + " @@ plainto_tsquery('simple', :q) "
+            + "OR o.job_title ILIKE :prefix) ";
+
+    @Query(nativeQuery = true, value = "select o.id from business_owner_profiles o where " + SEARCH_MATCH
+            + "order by ts_rank(" + SEARCH_DOCUMENT + ", plainto_tsquery('simple', :q)) desc, "
+            + "greatest(similarity(coalesce(o.job_title, ''), :q), word_similarity(:q, coalesce(o.skills, ''))) desc, o.id "
+            + "limit :limit offset :offset")
+    List<Long> searchIds(@Param("q") String q,
+                         @Param("prefix") String prefix,
+                         @Param("limit") int limit,
+                         @Param("offset") long offset);
+
+    @Query(nativeQuery = true, value = "select count(*) from business_owner_profiles o where " + SEARCH_MATCH)
+    long countSearch(@Param("q") String q, @Param("prefix") String prefix);
+
+    @Query(nativeQuery = true, value = "select o.id from business_owner_profiles o where " + BASIC_SEARCH_MATCH
+            + "order by ts_rank(" + SEARCH_DOCUMENT + ", plainto_tsquery('simple', :q)) desc, o.id "
+            + "limit :limit offset :offset")
+    List<Long> searchIdsWithoutTrigrams(@Param("q") String q,
+                                        @Param("prefix") String prefix,
+                                        @Param("limit") int limit,
+                                        @Param("offset") long offset);
+
+    @Query(nativeQuery = true, value = "select count(*) from business_owner_profiles o where " + BASIC_SEARCH_MATCH)
+    long countSearchWithoutTrigrams(@Param("q") String q, @Param("prefix") String prefix);
+
 }
@@ -1,11 +1,24 @@
 package com.example.businessservice.repository;
 
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.example.businessservice.model.dto.businessDto.BusinessKey;
+import com.example.businessservice.model.dto.businessDto.BusinessTypeFacet;
 import com.example.businessservice.model.entity.Business;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BusinessRepository extends JpaRepository<Business, Long> {
@@ -18,5 +31,98 @@ public interface BusinessRepository extends JpaRepository<Business, Long> {
 
     boolean existsById(Long id);
 
-}
+    @Query("select b.id from Business b where b.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select b.companyName from Business b where b.companyName in :companyNames")
+    List<String> findExistingCompanyNames(@Param("companyNames") Collection<String> companyNames);
+
+    String BUSINESS_DTO_SELECT = "select new com.example.businessservice.model.dto.businessDto.BusinessDto("
+            + "b.id, b.companyName, b.businessType, b.description, b.website, b.email, b.phone, b.address, "
+            + "b.createdAt, b.updatedAt, b.owner.id) from Business b ";
+
+    @Query(BUSINESS_DTO_SELECT + "where b.owner.id = :ownerId order by b.id")
+    List<BusinessDto> findDtosByOwnerId(@Param("ownerId") Long ownerId);
+
+    // Aqreqat səhifəsi üçün: bir səhifədəki bütün sahiblərin biznesləri bir sorğu ilə
+    @Query(BUSINESS_DTO_SELECT + "where b.owner.id in :ownerIds order by b.owner.id, b.id")
+    List<BusinessDto> findDtosByOwnerIdIn(@Param("ownerIds") Collection<Long> ownerIds);
+
+    // Keyset pagination: id üzrə indeksdən oxuyur, OFFSET istifadə etmir
+    @Query(BUSINESS_DTO_SELECT + "where b.id > :afterId order by b.id")
+    List<BusinessDto> findDtoPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(BUSINESS_DTO_SELECT
+            + "where (:ownerId is null or b.owner.id = :ownerId) "
+            + "and (:businessType is null or b.businessType = :businessType) "
+            + "and (:createdFrom is null or b.createdAt >= :createdFrom) "
+            + "and (:createdTo is null or b.createdAt < :createdTo) "
+            + "order by b.id")
+    List<BusinessDto> findDtosMatching(@Param("ownerId") Long ownerId,
+                                       @Param("businessType") String businessType,
+                                       @Param("createdFrom") LocalDateTime createdFrom,
+                                       @Param("createdTo") LocalDateTime createdTo,
+                                       Pageable pageable);
+
+    @Query(BUSINESS_DTO_SELECT + "where b.id in :ids")
+    List<BusinessDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // İfadə V3__Search_indexes miqrasiyasındakı tsvector indeksi ilə eyni olmalıdır
+    String SEARCH_DOCUMENT = "to_tsvector('simple', coalesce(b.company_name, '') || ' ' || coalesce(b.description, ''))";
+
+    // pg_trgm və tsvector indeksləri (V3__Search_indexes miqrasiyası) ilə dəstəklənir:
+    // prefix (ILIKE), fuzzy ad (%), təsvirdə söz oxşarlığı (<%) və tam mətn uyğunluğu
+    String SEARCH_MATCH = "(b.company_name ILIKE :prefix "
+            + "OR b.company_name % :q "
+            + "OR :q <% b.description "
+            + "OR " + SEARCH_DOCUMENT + " @@ plainto_tsquery('simple', :q)) ";
 
+    // pg_trgm qurulmayıbsa (TrigramSupport): yalnız prefix və tam mətn uyğunluğu
+    String BASIC_SEARCH_MATCH = "(b.company_name ILIKE :prefix "
+            + "OR " + SEARCH_DOCUMENT + " @@ plainto_tsquery('simple', :q)) ";
+
+    @Query(nativeQuery = true, value = "select b.id from businesses b where " + SEARCH_MATCH
+            + "and (cast(:businessType as text) is null or b.business_type = :businessType) "
+            + "order by (b.company_name ilike :prefix) desc, "
+            + "greatest(similarity(b.company_name, :q), word_similarity(:q, coalesce(b.description, ''))) desc, b.id "
+            + "limit :limit offset :offset")
+    List<Long> searchIds(@Param("q") String q,
+                         @Param("prefix") String prefix,
+                         @Param("businessType") String businessType,
+                         @Param("limit") int limit,
+                         @Param("offset") long offset);
+
+    // Alias dırnaqdadır: Postgres dırnaqsız alias-ı businesstype-a çevirir, projection isə Tuple-dan adı
+    // böyük-kiçik hərfə həssas oxuyur və getBusinessType() null qaytarırdı
+    @Query(nativeQuery = true, value = "select b.business_type as \"businessType\", count(*) as \"total\" from businesses b where "
+            + SEARCH_MATCH + "group by b.business_type")
+    List<BusinessTypeFacet> searchFacets(@Param("q") String q, @Param("prefix") String prefix);
+
+    @Query(nativeQuery = true, value = "select b.id from businesses b where " + BASIC_SEARCH_MATCH
+            + "and (cast(:businessType as text) is null or b.business_type = :businessType) "
+            + "order by (b.company_name ilike :prefix) desc, "
+            + "ts_rank(" + SEARCH_DOCUMENT + ", plainto_tsquery('simple', :q)) desc, b.id "
+            + "limit :limit offset :offset")
+    List<Long> searchIdsWithoutTrigrams(@Param("q") String q,
+                                        @Param("prefix") String prefix,
+                                        @Param("businessType") String businessType,
+                                        @Param("limit") int limit,
+                                        @Param("offset") long offset);
+
+    @Query(nativeQuery = true, value = "select b.business_type as \"businessType\", count(*) as \"total\" from businesses b where "
+            + BASIC_SEARCH_MATCH + "group by b.business_type")
+    List<BusinessTypeFacet> searchFacetsWithoutTrigrams(@Param("q") String q, @Param("prefix") String prefix);
+
+    @Modifying
+    @Query("delete from Business b where b.owner.id = :ownerId")
+    int deleteAllByOwnerId(@Param("ownerId") Long ownerId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(BUSINESS_DTO_SELECT + "order by b.id")
+    Stream<BusinessDto> streamAllDtos();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("select b.id as id, b.companyName as companyName from Business b")
+    Stream<BusinessKey> streamAllKeys();
+
+}
@@ -0,0 +1,175 @@
+package com.example.businessservice.service;
+
+import com.example.businessservice.config.AuthServiceProperties;
+import com.example.businessservice.exception.AuthServiceUnavailableException;
+import com.example.businessservice.exception.ResourceNotFoundException;
+import com.example.businessservice.feign.AuthServiceClient;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import feign.RetryableException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// Auth servisinə rol sorğuları: qısa TTL-li keş, eyni authUserId üçün paralel sorğuların birləşdirilməsi,
+// məhdud retry və circuit breaker. Auth servisi əlçatmaz olduqda rol yoxlanışı uğursuz sayılır (fail closed).
+// HTTP gecikməsi/xətaları feign-micrometer ilə http.client.requests-ə, breaker/retry vəziyyəti resilience4j.* metrikalarına düşür.
+@Service
+@Slf4j
+public class AuthRoleService {
+
+    static final String CIRCUIT_BREAKER_NAME = "business-auth-service";
+
+    private final AuthServiceClient authServiceClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+
+    // null: batch endpoint-i söndürülüb, hər lookup ayrıca GET ilə gedir
+    private final MicroBatcher<Long, String> roleBatcher;
+
+    // Tamamlanmamış future da keşdə saxlanılır: eyni id üçün gələn ikinci sorğu yeni HTTP çağırışı etmir
+    private final AsyncCache<Long, String> roleCache;
+
+    public AuthRoleService(AuthServiceClient authServiceClient, AuthServiceProperties properties, MeterRegistry meterRegistry) {
+        this.authServiceClient = authServiceClient;
+
+        AuthServiceProperties.CircuitBreaker cb = properties.getCircuitBreaker();
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(cb.getFailureRateThreshold())
+                .slowCallDurationThreshold(Duration.ofMillis(cb.getSlowCallDurationThresholdMillis()))
+                .slidingWindowSize(cb.getSlidingWindowSize())
+                .minimumNumberOfCalls(cb.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(Duration.ofSeconds(cb.getWaitDurationInOpenStateSeconds()))
+                // 404 auth servisinin nasazlığı deyil
+                .ignoreExceptions(FeignException.NotFound.class)
+                .build());
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_NAME);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+
+        AuthServiceProperties.Retry retryProperties = properties.getRetry();
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(retryProperties.getMaxAttempts())
+                .waitDuration(Duration.ofMillis(retryProperties.getWaitDurationMillis()))
+                // Yalnız timeout/bağlantı xətaları və 5xx təkrarlanır; açıq circuit təkrarlanmır
+                .retryExceptions(RetryableException.class, FeignException.FeignServerException.class)
+                .build());
+        this.retry = retryRegistry.retry(CIRCUIT_BREAKER_NAME);
+        TaggedRetryMetrics.ofRetryRegistry(retryRegistry).bindTo(meterRegistry);
+
+        this.roleCache = Caffeine.newBuilder()
+                .maximumSize(properties.getRoleCache().getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getRoleCache().getTtlSeconds()))
+                .buildAsync();
+
+        AuthServiceProperties.Batch batch = properties.getBatch();
+        this.roleBatcher = batch.isEnabled()
+                ? new MicroBatcher<>("auth-role", this::fetchRoles, Duration.ofMillis(batch.getWindowMillis()),
+                        batch.getMaxSize(), batch.getMaxConcurrentBatches())
+                : null;
+    }
+
+    public String getUserRole(Long authUserId) {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> existing = roleCache.asMap().putIfAbsent(authUserId, pending);
+        if (existing != null) {
+            log.debug("Role lookup for authUserId {} served from cache or joined an in-flight request.", authUserId);
+            return join(existing);
+        }
+        try {
+            pending.complete(fetchRole(authUserId));
+        } catch (RuntimeException e) {
+            // Uğursuz future Caffeine tərəfindən keşdən avtomatik silinir
+            pending.completeExceptionally(e);
+        }
+        return join(pending);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (roleBatcher != null) {
+            roleBatcher.close();
+        }
+    }
+
+    public void evictUserRole(Long authUserId) {
+        roleCache.synchronous().invalidate(authUserId);
+    }
+
+    CircuitBreaker.State circuitBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    private String fetchRole(Long authUserId) {
+        if (roleBatcher != null) {
+            // Paralel gələn tək lookup-lar bir neçə millisaniyə ərzində toplanıb bir POST ilə göndərilir
+            String role = join(roleBatcher.submit(authUserId));
+            if (role == null) {
+                throw notFound(authUserId);
+            }
+            return role;
+        }
+        try {
+            return resilientCall(() -> authServiceClient.getUserRole(authUserId));
+        } catch (FeignException.NotFound e) {
+            throw notFound(authUserId);
+        } catch (CallNotPermittedException | FeignException e) {
+            throw unavailable(e, "authUserId " + authUserId);
+        }
+    }
+
+    private Map<Long, String> fetchRoles(Set<Long> authUserIds) {
+        try {
+            Map<Long, String> roles = resilientCall(() -> authServiceClient.getUserRoles(authUserIds));
+            return roles != null ? roles : Map.of();
+        } catch (CallNotPermittedException | FeignException e) {
+            throw unavailable(e, authUserIds.size() + " auth users");
+        }
+    }
+
+    private <T> T resilientCall(Supplier<T> call) {
+        return Retry.decorateSupplier(retry, CircuitBreaker.decorateSupplier(circuitBreaker, call)).get();
+    }
+
+    private static ResourceNotFoundException notFound(Long authUserId) {
+        log.warn("Auth User ID {} not found in authentication system.", authUserId);
+        return new ResourceNotFoundException("Auth User ID " + authUserId + " not found in authentication system.");
+    }
+
+    private static AuthServiceUnavailableException unavailable(RuntimeException e, String subject) {
+        if (e instanceof CallNotPermittedException) {
+            log.warn("Circuit breaker for authentication service is open, rejecting role lookup for {}.", subject);
+            return new AuthServiceUnavailableException("Authentication service is temporarily unavailable. Please try again later.", e);
+        }
+        log.error("Failed to communicate with authentication service during role verification for {}: {}", subject, e.getMessage());
+        return new AuthServiceUnavailableException("Failed to communicate with authentication service during role verification.", e);
+    }
+
+    private static String join(CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
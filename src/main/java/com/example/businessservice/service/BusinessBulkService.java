@@ -0,0 +1,196 @@
+package com.example.businessservice.service;
+
+import com.example.businessservice.cache.BusinessCacheInvalidator;
+import com.example.businessservice.exception.ConstraintViolations;
+import com.example.businessservice.model.dto.businessDto.BulkCreateBusinessResponse;
+import com.example.businessservice.model.dto.businessDto.BulkItemResult;
+import com.example.businessservice.model.dto.businessDto.BusinessDeletionFilter;
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.example.businessservice.model.dto.businessDto.CreateBusinessRequest;
+import com.example.businessservice.model.entity.Business;
+import com.example.businessservice.repository.BusinessOwnerRepository;
+import com.example.businessservice.repository.BusinessRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BusinessBulkService {
+
+    private final BusinessRepository businessRepository;
+    private final BusinessOwnerRepository businessOwnerRepository;
+    private final BusinessCacheInvalidator businessCacheInvalidator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${business.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    // Hər chunk öz tranzaksiyasında commit olunur. Yoxlamadan sonra paralel yaradılmış ad və ya silinmiş sahib
+    // bütün importu deyil, yalnız həmin chunk-ı geri qaytarır; chunk sətir-sətir təkrarlanır və pozuntu elementə yazılır
+    public BulkCreateBusinessResponse createBusinesses(List<CreateBusinessRequest> requests) {
+        log.info("Attempting bulk creation of {} businesses.", requests.size());
+
+        // Ad unikallığı və sahib mövcudluğu hər biri bir set-based sorğu ilə yoxlanılır
+        Set<String> takenCompanyNames = new HashSet<>(businessRepository.findExistingCompanyNames(
+                requests.stream().map(CreateBusinessRequest::getCompanyName).collect(Collectors.toSet())));
+        Set<Long> existingOwnerIds = new HashSet<>(businessOwnerRepository.findExistingIds(
+                requests.stream().map(CreateBusinessRequest::getOwnerId).collect(Collectors.toSet())));
+
+        BulkItemResult[] results = new BulkItemResult[requests.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateBusinessRequest request = requests.get(i);
+            if (!existingOwnerIds.contains(request.getOwnerId())) {
+                results[i] = ownerNotFound(i, request);
+            } else if (!takenCompanyNames.add(request.getCompanyName())) {
+                results[i] = duplicateCompanyName(i, request);
+            } else {
+                acceptedIndexes.add(i);
+            }
+        }
+
+        int created = 0;
+        for (int from = 0; from < acceptedIndexes.size(); from += chunkSize) {
+            List<Integer> chunk = acceptedIndexes.subList(from, Math.min(from + chunkSize, acceptedIndexes.size()));
+            try {
+                List<BusinessDto> businesses = transactionTemplate.execute(status ->
+                        insert(chunk.stream().map(requests::get).toList()));
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i)] = created(chunk.get(i), businesses.get(i));
+                }
+                created += chunk.size();
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Bulk chunk of {} businesses violated {}; retrying it row by row.",
+                        chunk.size(), ConstraintViolations.constraintName(e));
+                for (Integer index : chunk) {
+                    results[index] = createOne(index, requests.get(index));
+                    if (results[index].getStatus() == BulkItemResult.Status.CREATED) {
+                        created++;
+                    }
+                }
+            }
+        }
+
+        log.info("Bulk creation finished. Created: {}, failed: {}", created, requests.size() - created);
+        return BulkCreateBusinessResponse.builder()
+                .created(created)
+                .failed(requests.size() - created)
+                .results(List.of(results))
+                .build();
+    }
+
+    public long deleteBusinesses(BusinessDeletionFilter filter) {
+        log.info("Attempting bulk deletion of businesses matching {}", filter);
+        long deleted = deleteInChunks(filter, true);
+        log.info("Bulk deletion finished. Deleted: {}", deleted);
+        return deleted;
+    }
+
+    public long deleteAllBusinesses() {
+        log.info("Clearing all businesses from DB and cache...");
+        try {
+            return deleteInChunks(new BusinessDeletionFilter(), false);
+        } finally {
+            // Bütün cədvəl silindikdə açar-açar evict əvəzinə regionlar bir dəfə təmizlənir. Sonrakı chunk uğursuz
+            // olsa belə əvvəlki chunk-lar artıq commit olunub, ona görə təmizləmə hər halda icra olunur
+            businessCacheInvalidator.allBusinessesDeleted();
+        }
+    }
+
+    // Hər chunk öz qısa tranzaksiyasında: bir projection select və bir DELETE ... WHERE id IN (...)
+    private long deleteInChunks(BusinessDeletionFilter filter, boolean evictDeletedKeys) {
+        long deleted = 0;
+        int chunkDeleted;
+        do {
+            chunkDeleted = transactionTemplate.execute(status -> {
+                List<BusinessDto> victims = businessRepository.findDtosMatching(filter.getOwnerId(),
+                        filter.getBusinessType(), filter.getCreatedFrom(), filter.getCreatedTo(),
+                        PageRequest.of(0, chunkSize));
+                if (victims.isEmpty()) {
+                    return 0;
+                }
+                businessRepository.deleteAllByIdInBatch(victims.stream().map(BusinessDto::getId).toList());
+                if (evictDeletedKeys) {
+                    businessCacheInvalidator.businessesDeleted(victims);
+                }
+                return victims.size();
+            });
+            deleted += chunkDeleted;
+        } while (chunkDeleted == chunkSize);
+        return deleted;
+    }
+
+    private BulkItemResult createOne(int index, CreateBusinessRequest request) {
+        try {
+            BusinessDto business = transactionTemplate.execute(status -> insert(List.of(request)).get(0));
+            return created(index, business);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.violates(e, Business.FK_OWNER, ConstraintViolations.FOREIGN_KEY_VIOLATION, "owner_id")) {
+                return ownerNotFound(index, request);
+            }
+            if (ConstraintViolations.violates(e, Business.UK_COMPANY_NAME, ConstraintViolations.UNIQUE_VIOLATION, "company_name")) {
+                return duplicateCompanyName(index, request);
+            }
+            throw e;
+        }
+    }
+
+    // Batch insert-lər saveAllAndFlush ilə göndərilir ki, constraint pozuntusu commit-dən əvvəl tərcümə olunmuş halda çıxsın;
+    // keşlər yalnız bu tranzaksiya commit olunduqda təmizlənir
+    private List<BusinessDto> insert(List<CreateBusinessRequest> requests) {
+        List<Business> businesses = requests.stream().map(this::toEntity).toList();
+        List<BusinessDto> created = businessRepository.saveAllAndFlush(businesses).stream().map(BusinessDto::new).toList();
+        businessCacheInvalidator.businessesCreated(created);
+        return created;
+    }
+
+    private Business toEntity(CreateBusinessRequest request) {
+        return Business.builder()
+                .owner(businessOwnerRepository.getReferenceById(request.getOwnerId())) // select olmadan proxy
+                .companyName(request.getCompanyName())
+                .businessType(request.getBusinessType())
+                .description(request.getDescription())
+                .website(request.getWebsite())
+                .phone(request.getPhone())
+                .email(request.getEmail())
+                .address(request.getAddress())
+                .build();
+    }
+
+    private static BulkItemResult created(int index, BusinessDto business) {
+        return BulkItemResult.builder()
+                .index(index)
+                .status(BulkItemResult.Status.CREATED)
+                .id(business.getId())
+                .build();
+    }
+
+    private static BulkItemResult ownerNotFound(int index, CreateBusinessRequest request) {
+        return failure(index, BulkItemResult.Status.OWNER_NOT_FOUND, "Business owner not found with ID: " + request.getOwnerId());
+    }
+
+    private static BulkItemResult duplicateCompanyName(int index, CreateBusinessRequest request) {
+        return failure(index, BulkItemResult.Status.DUPLICATE_COMPANY_NAME,
+                "Business with company name " + request.getCompanyName() + " already exists.");
+    }
+
+    private static BulkItemResult failure(int index, BulkItemResult.Status status, String message) {
+        return BulkItemResult.builder()
+                .index(index)
+                .status(status)
+                .message(message)
+                .build();
+    }
+}
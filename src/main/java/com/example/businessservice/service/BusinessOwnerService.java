@@ -1,23 +1,40 @@
 package com.example.businessservice.service;
 
+import com.example.businessservice.cache.BusinessCacheInvalidator;
+import com.example.businessservice.cache.BusinessOwnerCacheInvalidator;
+import com.example.businessservice.cache.CacheBatchOperations;
+import com.example.businessservice.cache.NegativeLookupCache;
 import com.example.businessservice.exception.BusinessOwnerAlreadyExistsException;
+import com.example.businessservice.exception.ConstraintViolations;
 import com.example.businessservice.exception.ResourceNotFoundException;
-import com.example.businessservice.feign.AuthServiceClient;
+import com.example.businessservice.model.dto.CursorPage;
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
 import com.example.businessservice.model.dto.businessOwnerdto.BusinessOwnerDto;
+import com.example.businessservice.model.dto.businessOwnerdto.BusinessOwnerWithBusinessesDto;
 import com.example.businessservice.model.dto.businessOwnerdto.CreateBusinessOwnerRequest;
 import com.example.businessservice.model.dto.businessOwnerdto.UpdateBusinessOwnerRequest;
 import com.example.businessservice.model.entity.BusinessOwner;
 import com.example.businessservice.repository.BusinessOwnerRepository;
-import feign.FeignException;
+import com.example.businessservice.repository.BusinessRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j; // Loglama üçün əlavə edildi
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.cache.annotation.CacheEvict; // Keşləmə üçün əlavə edildi
-import org.springframework.cache.annotation.CachePut; // Keşləmə üçün əlavə edildi
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.cache.annotation.Cacheable; // Keşləmə üçün əlavə edildi
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors; // List üçün əlavə edildi
 
 @Service
@@ -27,36 +44,27 @@ import java.util.stream.Collectors; // List üçün əlavə edildi
 public class BusinessOwnerService {
 
     private final BusinessOwnerRepository businessOwnerRepository; // 'final' açar sözü
-    private final AuthServiceClient authServiceClient;
+    private final AuthRoleService authRoleService;
+    private final BusinessCacheInvalidator businessCacheInvalidator;
+    private final BusinessOwnerCacheInvalidator businessOwnerCacheInvalidator;
+    private final NegativeLookupCache negativeLookupCache;
+    private final BusinessRepository businessRepository;
+    private final BusinessBulkService businessBulkService;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheBatchOperations cacheBatchOperations;
 
-    @Cacheable(value = "businessOwners", key = "#authUserId")
+    @Value("${business.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    // Auth servisinə çağırış zamanı DB bağlantısı tutulmasın deyə tranzaksiya yalnız saveAndFlush-u əhatə edir
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BusinessOwnerDto createBusinessOwner(Long authUserId, CreateBusinessOwnerRequest request){
         log.info("Creating business owner with authUserId: {}", authUserId);
 
-        try{
-            String role = authServiceClient.getUserRole(authUserId);
-
-            if (role == null || !role.equals("BUSINESS_OWNER")) {
-                log.warn("Auth User ID {} does not have the BUSINESS_OWNER role. Current role: {}", authUserId, role);
-                throw new ResourceNotFoundException("Auth User ID " + authUserId + " does not have the BUSINESS_OWNER role. BUSINESS_OWNER profile cannot be created.");
-            }
-        }catch (FeignException.NotFound e){
-            log.warn("Auth User ID {} not found in authentication system.", authUserId);
-            throw new ResourceNotFoundException("Auth User ID " + authUserId + " not found in authentication system.");
-        }catch (FeignException e){
-            log.error("Failed to communicate with authentication service during role verification for authUserId {}: {}", authUserId, e.getMessage());
-            throw new RuntimeException("Failed to communicate with authentication service during role verification: " + e.getMessage(), e);
-        }
-
-
-        if (businessOwnerRepository.findByAuthUserId(authUserId).isPresent()) {
-            log.warn("Business owner profile for Auth User ID {} already exists.", authUserId);
-            throw new BusinessOwnerAlreadyExistsException("Business profile for Auth User ID " + authUserId + " already exists.");
-        }
-
-        if (businessOwnerRepository.findByEmail(request.getEmail()).isPresent()) {
-            log.warn("Business profile for email {} already exists.", request.getEmail());
-            throw new BusinessOwnerAlreadyExistsException("Business profile for email " + request.getEmail() + " already exists.");
+        String role = authRoleService.getUserRole(authUserId);
+        if (role == null || !role.equals("BUSINESS_OWNER")) {
+            log.warn("Auth User ID {} does not have the BUSINESS_OWNER role. Current role: {}", authUserId, role);
+            throw new ResourceNotFoundException("Auth User ID " + authUserId + " does not have the BUSINESS_OWNER role. BUSINESS_OWNER profile cannot be created.");
         }
 
         BusinessOwner businessOwner = BusinessOwner.builder()
@@ -74,44 +82,147 @@ public class BusinessOwnerService {
                 .bio(request.getBio())
                 .build();
 
-        BusinessOwner savedBusinessOwner = businessOwnerRepository.save(businessOwner);
+        // authUserId və email unikallığı ayrıca select-lərlə deyil, insert-in constraint-ləri ilə yoxlanılır
+        BusinessOwner savedBusinessOwner;
+        try {
+            savedBusinessOwner = businessOwnerRepository.saveAndFlush(businessOwner);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.violates(e, BusinessOwner.UK_AUTH_USER_ID, ConstraintViolations.UNIQUE_VIOLATION, "auth_user_id")) {
+                log.warn("Business owner profile for Auth User ID {} already exists.", authUserId);
+                throw new BusinessOwnerAlreadyExistsException("Business profile for Auth User ID " + authUserId + " already exists.");
+            }
+            if (ConstraintViolations.violates(e, BusinessOwner.UK_EMAIL, ConstraintViolations.UNIQUE_VIOLATION, "email")) {
+                log.warn("Business profile for email {} already exists.", request.getEmail());
+                throw new BusinessOwnerAlreadyExistsException("Business profile for email " + request.getEmail() + " already exists.");
+            }
+            throw e;
+        }
         log.info("Business owner created successfully with ID: {}", savedBusinessOwner.getId());
-        return new BusinessOwnerDto(savedBusinessOwner);
+        BusinessOwnerDto createdOwner = new BusinessOwnerDto(savedBusinessOwner);
+        businessOwnerCacheInvalidator.ownerCreated(createdOwner);
+        return createdOwner;
     }
 
-//    @Cacheable(value = "businessOwners", key = "'authUserId-' + #authUserId")
+    @Cacheable(value = BusinessOwnerCacheInvalidator.OWNER_BY_AUTH_USER_ID, key = "#authUserId")
+    @Transactional(readOnly = true)
     public BusinessOwnerDto getBusinessOwnerByAuthUserId(Long authUserId) {
-        log.info("Fetching business owner by Auth User ID: {}", authUserId);
+        log.debug("Fetching business owner by Auth User ID: {}", authUserId);
+        if (negativeLookupCache.isKnownMissing(BusinessOwnerCacheInvalidator.OWNER_BY_AUTH_USER_ID, authUserId)) {
+            log.debug("Business profile for Auth User ID {} is cached as missing.", authUserId);
+            throw new ResourceNotFoundException("Business profile for Auth User ID " + authUserId + " not found.");
+        }
         return businessOwnerRepository.findByAuthUserId(authUserId)
                 .map(BusinessOwnerDto::new)
                 .orElseThrow(() -> {
                     log.warn("Business profile for Auth User ID {} not found.", authUserId);
+                    negativeLookupCache.recordMissing(BusinessOwnerCacheInvalidator.OWNER_BY_AUTH_USER_ID, authUserId);
                     return new ResourceNotFoundException("Business profile for Auth User ID " + authUserId + " not found.");
                 });
     }
 
-//    @Cacheable(value = "businessOwners", key = "#id")
+    @Cacheable(value = BusinessOwnerCacheInvalidator.OWNER_BY_ID, key = "#id")
     @Transactional(readOnly = true)
     public BusinessOwnerDto getBusinessOwnerById(Long id) {
-        log.info("Fetching business owner by ID: {}", id);
+        log.debug("Fetching business owner by ID: {}", id);
+        if (negativeLookupCache.isKnownMissing(BusinessOwnerCacheInvalidator.OWNER_BY_ID, id)) {
+            log.debug("Business profile for ID {} is cached as missing.", id);
+            throw new ResourceNotFoundException("Business profile for ID " + id + " not found.");
+        }
         return businessOwnerRepository.findById(id)
                 .map(BusinessOwnerDto::new)
                 .orElseThrow(() -> {
                     log.warn("Business profile for ID {} not found.", id); // Loglama
+                    negativeLookupCache.recordMissing(BusinessOwnerCacheInvalidator.OWNER_BY_ID, id);
+                    return new ResourceNotFoundException("Business profile for ID " + id + " not found.");
+                });
+    }
+
+    // businessOwnerById regionu: bir MGET, tapılmayanlar üçün bir IN sorğusu, pipeline ilə geri yazma
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BusinessOwnerDto> getBusinessOwnersByIds(List<Long> ids) {
+        log.debug("Fetching {} business owners by ID list.", ids.size());
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        Map<Object, Object> found = cacheBatchOperations.getAll(BusinessOwnerCacheInvalidator.OWNER_BY_ID, distinctIds);
+        List<Long> misses = distinctIds.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!misses.isEmpty()) {
+            Map<Long, BusinessOwnerDto> loaded = businessOwnerRepository.findAllById(misses).stream()
+                    .map(BusinessOwnerDto::new)
+                    .collect(Collectors.toMap(BusinessOwnerDto::getId, Function.identity()));
+            cacheBatchOperations.putAll(BusinessOwnerCacheInvalidator.OWNER_BY_ID, loaded);
+            found.putAll(loaded);
+        }
+        return distinctIds.stream()
+                .map(id -> (BusinessOwnerDto) found.get(id))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // Bir fetch-join sorğusu; nəticə bir vahid kimi keşlənir və sahib və ya biznes dəyişəndə silinir
+    @Cacheable(value = BusinessOwnerCacheInvalidator.OWNER_WITH_BUSINESSES, key = "#id", sync = true)
+    @Transactional(readOnly = true)
+    public BusinessOwnerWithBusinessesDto getBusinessOwnerWithBusinesses(Long id) {
+        log.debug("Fetching business owner with businesses by ID: {}", id);
+        if (negativeLookupCache.isKnownMissing(BusinessOwnerCacheInvalidator.OWNER_BY_ID, id)) {
+            log.debug("Business profile for ID {} is cached as missing.", id);
+            throw new ResourceNotFoundException("Business profile for ID " + id + " not found.");
+        }
+        BusinessOwner businessOwner = businessOwnerRepository.findWithBusinessesById(id)
+                .orElseThrow(() -> {
+                    log.warn("Business profile for ID {} not found.", id);
+                    negativeLookupCache.recordMissing(BusinessOwnerCacheInvalidator.OWNER_BY_ID, id);
                     return new ResourceNotFoundException("Business profile for ID " + id + " not found.");
                 });
+        List<BusinessDto> businesses = businessOwner.getBusinesses().stream()
+                .map(BusinessDto::new)
+                .sorted(Comparator.comparing(BusinessDto::getId))
+                .toList();
+        return new BusinessOwnerWithBusinessesDto(new BusinessOwnerDto(businessOwner), businesses);
+    }
+
+    // Collection fetch-join ilə limit yaddaşda tətbiq olunardı; buna görə iki sorğu: sahiblər səhifəsi,
+    // sonra həmin sahiblərin bütün biznesləri bir IN sorğusu ilə
+    @Cacheable(value = BusinessOwnerCacheInvalidator.OWNER_WITH_BUSINESSES_PAGES, key = "#afterId + ':' + #limit", sync = true)
+    @Transactional(readOnly = true)
+    public CursorPage<BusinessOwnerWithBusinessesDto> getBusinessOwnersWithBusinessesPage(long afterId, int limit) {
+        log.debug("Fetching business owners with businesses page after ID: {} (limit: {})", afterId, limit);
+        List<BusinessOwner> owners = businessOwnerRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit + 1));
+
+        String nextCursor = null;
+        if (owners.size() > limit) {
+            owners = owners.subList(0, limit);
+            nextCursor = CursorPage.encodeCursor(owners.get(limit - 1).getId());
+        }
+
+        List<Long> ownerIds = owners.stream().map(BusinessOwner::getId).toList();
+        Map<Long, List<BusinessDto>> businessesByOwner = ownerIds.isEmpty()
+                ? Map.of()
+                : businessRepository.findDtosByOwnerIdIn(ownerIds).stream()
+                        .collect(Collectors.groupingBy(BusinessDto::getOwnerId));
+
+        List<BusinessOwnerWithBusinessesDto> items = owners.stream()
+                .map(owner -> new BusinessOwnerWithBusinessesDto(new BusinessOwnerDto(owner),
+                        businessesByOwner.getOrDefault(owner.getId(), List.of())))
+                .collect(Collectors.toList());
+        return new CursorPage<>(items, nextCursor, limit);
     }
 
-    @Cacheable(value = "businessOwners")
-    public List<BusinessOwnerDto> getAllBusinessOwners() {
-        log.info("Fetching all business owners."); // Loglama
-        return businessOwnerRepository.findAll()
+    @Cacheable(value = BusinessOwnerCacheInvalidator.OWNER_PAGES, key = "#afterId + ':' + #limit", sync = true)
+    @Transactional(readOnly = true)
+    public CursorPage<BusinessOwnerDto> getBusinessOwnersPage(long afterId, int limit) {
+        log.debug("Fetching business owners page after ID: {} (limit: {})", afterId, limit); // Loglama
+        List<BusinessOwnerDto> items = businessOwnerRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit + 1))
                 .stream()
                 .map(BusinessOwnerDto::new)
                 .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (items.size() > limit) {
+            items = new ArrayList<>(items.subList(0, limit));
+            nextCursor = CursorPage.encodeCursor(items.get(limit - 1).getId());
+        }
+        return new CursorPage<>(items, nextCursor, limit);
     }
 
-    @CachePut(value = "businessOwners", key = "#id")
     @Transactional
     public BusinessOwnerDto updateBusinessOwner(Long id, UpdateBusinessOwnerRequest request) {
         log.info("Updating business owner with ID: {}", id);
@@ -127,6 +238,8 @@ public class BusinessOwnerService {
             throw new BusinessOwnerAlreadyExistsException("Business profile for email " + request.getEmail() + " already exists.");
         }
 
+        BusinessOwnerDto ownerBeforeUpdate = new BusinessOwnerDto(businessOwner);
+
         businessOwner.setFirstName(request.getFirstName());
         businessOwner.setLastName(request.getLastName());
         businessOwner.setDateOfBirth(request.getDateOfBirth());
@@ -141,25 +254,46 @@ public class BusinessOwnerService {
 
         BusinessOwner updatedBusinessOwner = businessOwnerRepository.save(businessOwner);
         log.info("Business owner with ID {} updated successfully.", id);
-        return new BusinessOwnerDto(updatedBusinessOwner);
+        BusinessOwnerDto ownerAfterUpdate = new BusinessOwnerDto(updatedBusinessOwner);
+        businessOwnerCacheInvalidator.ownerUpdated(ownerBeforeUpdate, ownerAfterUpdate);
+        return ownerAfterUpdate;
     }
 
-    @CacheEvict(value = "businessOwners", key = "#id")
     @Transactional
     public void deleteBusinessOwnerById(Long id) {
         log.info("Attempting to delete business owner with ID: {}", id);
-        if (!businessOwnerRepository.existsById(id)) {
-            log.warn("Business profile for ID {} not found for deletion.", id);
-            throw new ResourceNotFoundException("Business profile for ID " + id + " not found.");
-        }
-        businessOwnerRepository.deleteById(id);
+        BusinessOwner businessOwner = businessOwnerRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("Business profile for ID {} not found for deletion.", id);
+                    return new ResourceNotFoundException("Business profile for ID " + id + " not found.");
+                });
+        // Bizneslər entity-by-entity cascade əvəzinə bir DELETE ilə silinir, keş açarları üçün projection götürülür
+        List<BusinessDto> ownedBusinesses = businessRepository.findDtosByOwnerId(id);
+        businessRepository.deleteAllByOwnerId(id);
+        businessOwnerRepository.deleteAllByIdInBatch(List.of(id));
+        businessCacheInvalidator.businessesDeleted(ownedBusinesses);
+        businessOwnerCacheInvalidator.ownerDeleted(new BusinessOwnerDto(businessOwner));
         log.info("Business owner with ID {} deleted successfully.", id);
     }
 
-    @CacheEvict(value = "businessOwners", allEntries = true)
-    @Transactional
+    // Uzun bir tranzaksiya əvəzinə hər chunk ayrıca commit olunur
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deleteAllBusinessOwners() {
         log.info("Clearing all business owners from DB and cache...");
-        businessOwnerRepository.deleteAll();
+        long deletedBusinesses = businessBulkService.deleteAllBusinesses();
+        long deletedOwners = 0;
+        int chunkDeleted;
+        do {
+            chunkDeleted = transactionTemplate.execute(status -> {
+                List<Long> ids = businessOwnerRepository.findIdChunk(PageRequest.of(0, chunkSize));
+                if (!ids.isEmpty()) {
+                    businessOwnerRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            });
+            deletedOwners += chunkDeleted;
+        } while (chunkDeleted == chunkSize);
+        businessOwnerCacheInvalidator.allOwnersDeleted();
+        log.info("Deleted {} business owners and {} businesses.", deletedOwners, deletedBusinesses);
     }
 }
\ No newline at end of file
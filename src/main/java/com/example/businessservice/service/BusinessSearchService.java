@@ -0,0 +1,109 @@
+package com.example.businessservice.service;
+
+import com.example.businessservice.exception.InvalidRequestException;
+import com.example.businessservice.model.dto.SearchPage;
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.example.businessservice.model.dto.businessDto.BusinessTypeFacet;
+import com.example.businessservice.model.dto.businessOwnerdto.BusinessOwnerDto;
+import com.example.businessservice.repository.BusinessOwnerRepository;
+import com.example.businessservice.repository.BusinessRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class BusinessSearchService {
+
+    private static final int MIN_QUERY_LENGTH = 2;
+
+    private final BusinessRepository businessRepository;
+    private final BusinessOwnerRepository businessOwnerRepository;
+    private final TrigramSupport trigramSupport;
+
+    public SearchPage<BusinessDto> searchBusinesses(String query, String businessType, int page, int size) {
+        String q = normalize(query);
+        String prefix = likePrefix(q);
+        log.debug("Searching businesses for '{}' (type: {}, page: {}, size: {})", q, businessType, page, size);
+
+        boolean trigram = trigramSupport.isAvailable();
+        List<Long> ids = trigram
+                ? businessRepository.searchIds(q, prefix, businessType, size, (long) page * size)
+                : businessRepository.searchIdsWithoutTrigrams(q, prefix, businessType, size, (long) page * size);
+        List<BusinessDto> items = ids.isEmpty() ? List.of() : inIdOrder(ids, businessRepository.findDtosByIdIn(ids), BusinessDto::getId);
+
+        // Facet-lər businessType filtri olmadan hesablanır; ümumi say onlardan çıxarılır (ayrıca count sorğusu yoxdur)
+        List<BusinessTypeFacet> rows = trigram
+                ? businessRepository.searchFacets(q, prefix)
+                : businessRepository.searchFacetsWithoutTrigrams(q, prefix);
+        Map<String, Long> facets = rows.stream()
+                .sorted(Comparator.comparing(BusinessTypeFacet::getTotal).reversed())
+                .collect(Collectors.toMap(BusinessTypeFacet::getBusinessType, BusinessTypeFacet::getTotal,
+                        (a, b) -> a, LinkedHashMap::new));
+        long total = businessType != null
+                ? facets.getOrDefault(businessType, 0L)
+                : facets.values().stream().mapToLong(Long::longValue).sum();
+
+        return SearchPage.<BusinessDto>builder()
+                .items(items)
+                .total(total)
+                .page(page)
+                .size(size)
+                .facets(facets)
+                .build();
+    }
+
+    public SearchPage<BusinessOwnerDto> searchBusinessOwners(String query, int page, int size) {
+        String q = normalize(query);
+        String prefix = likePrefix(q);
+        log.debug("Searching business owners for '{}' (page: {}, size: {})", q, page, size);
+
+        boolean trigram = trigramSupport.isAvailable();
+        List<Long> ids = trigram
+                ? businessOwnerRepository.searchIds(q, prefix, size, (long) page * size)
+                : businessOwnerRepository.searchIdsWithoutTrigrams(q, prefix, size, (long) page * size);
+        List<BusinessOwnerDto> items = inIdOrder(ids,
+                businessOwnerRepository.findAllById(ids).stream().map(BusinessOwnerDto::new).toList(),
+                BusinessOwnerDto::getId);
+
+        return SearchPage.<BusinessOwnerDto>builder()
+                .items(items)
+                .total(trigram
+                        ? businessOwnerRepository.countSearch(q, prefix)
+                        : businessOwnerRepository.countSearchWithoutTrigrams(q, prefix))
+                .page(page)
+                .size(size)
+                .facets(Map.of())
+                .build();
+    }
+
+    private static String normalize(String query) {
+        String q = query == null ? "" : query.trim();
+        if (q.length() < MIN_QUERY_LENGTH) {
+            throw new InvalidRequestException("Search query must be at least " + MIN_QUERY_LENGTH + " characters long.");
+        }
+        return q;
+    }
+
+    // İstifadəçi daxil etdiyi % və _ simvolları wildcard kimi işlənməsin
+    private static String likePrefix(String q) {
+        return q.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    // IN (...) sorğusu sıranı saxlamır; relevantlıq sırası id siyahısından bərpa olunur
+    private static <T> List<T> inIdOrder(List<Long> ids, List<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = rows.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+}
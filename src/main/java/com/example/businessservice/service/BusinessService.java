@@ -1,7 +1,13 @@
 package com.example.businessservice.service;
 
+import com.example.businessservice.cache.BusinessCacheInvalidator;
+import com.example.businessservice.cache.BusinessKeyIndex;
+import com.example.businessservice.cache.CacheBatchOperations;
+import com.example.businessservice.cache.NegativeLookupCache;
 import com.example.businessservice.exception.BusinessAlreadyExistsException;
+import com.example.businessservice.exception.ConstraintViolations;
 import com.example.businessservice.exception.ResourceNotFoundException;
+import com.example.businessservice.model.dto.CursorPage;
 import com.example.businessservice.model.dto.businessDto.BusinessDto;
 import com.example.businessservice.model.dto.businessDto.CreateBusinessRequest;
 import com.example.businessservice.model.dto.businessDto.UpdateBusinessRequest;
@@ -10,41 +16,46 @@ import com.example.businessservice.repository.BusinessOwnerRepository;
 import com.example.businessservice.repository.BusinessRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BusinessService {
 
+    private static final int EXISTENCE_QUERY_CHUNK_SIZE = 1000;
+
     private final BusinessRepository businessRepository;
     private final BusinessOwnerRepository businessOwnerRepository;
+    private final BusinessCacheInvalidator businessCacheInvalidator;
+    private final NegativeLookupCache negativeLookupCache;
+    private final BusinessKeyIndex businessKeyIndex;
+    private final CacheBatchOperations cacheBatchOperations;
 
 
-    @Caching(
-            evict = {
-                    @CacheEvict(value = "businessById", allEntries = true),
-                    @CacheEvict(value = "businessByCompanyName", allEntries = true),
-                    @CacheEvict(value = "allBusinessesCache", allEntries = true),
-                    @CacheEvict(value = "businessesByOwnerId", allEntries = true)
-            }
-    )
+    @Transactional
     public BusinessDto createBusiness(Long ownerId, CreateBusinessRequest request) {
         log.info("Attempting to create business for ownerId: {}", ownerId);
-        if (businessRepository.findByCompanyName(request.getCompanyName()).isPresent()) {
-            log.warn("Business with company name {} already exists for ownerId: {}", request.getCompanyName(), ownerId);
-            throw new RuntimeException("Business with company name " + request.getCompanyName() + " already exists for ownerId: " + ownerId);
-        }
-
+        // Pre-check select-ləri yoxdur: ad unikallığı və sahibin mövcudluğu insert-in özündə constraint-lərlə yoxlanılır
         Business business = Business.builder()
-                .owner(businessOwnerRepository.findById(ownerId).orElseThrow(() -> new ResourceNotFoundException("Business owner not found with ID: " + ownerId)))
+                .owner(businessOwnerRepository.getReferenceById(ownerId))
                 .companyName(request.getCompanyName())
                 .businessType(request.getBusinessType())
                 .description(request.getDescription())
@@ -54,62 +65,116 @@ public class BusinessService {
                 .address(request.getAddress())
                 .build();
 
-        Business savedBusiness = businessRepository.save(business);
+        Business savedBusiness;
+        try {
+            savedBusiness = businessRepository.saveAndFlush(business);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.violates(e, Business.FK_OWNER, ConstraintViolations.FOREIGN_KEY_VIOLATION, "owner_id")) {
+                log.warn("Business owner not found with ID: {}", ownerId);
+                throw new ResourceNotFoundException("Business owner not found with ID: " + ownerId);
+            }
+            if (ConstraintViolations.violates(e, Business.UK_COMPANY_NAME, ConstraintViolations.UNIQUE_VIOLATION, "company_name")) {
+                log.warn("Business with company name {} already exists for ownerId: {}", request.getCompanyName(), ownerId);
+                throw new BusinessAlreadyExistsException("Business with company name " + request.getCompanyName() + " already exists.");
+            }
+            throw e;
+        }
         log.info("Business created successfully with ID: {} for ownerId: {}", savedBusiness.getId(), ownerId);
-        return new BusinessDto(savedBusiness);
+        BusinessDto createdBusiness = new BusinessDto(savedBusiness);
+        businessCacheInvalidator.businessCreated(createdBusiness);
+        return createdBusiness;
     }
 
+    @Cacheable(value = BusinessCacheInvalidator.BUSINESS_BY_ID, key = "#id")
+    @Transactional(readOnly = true)
     public BusinessDto getBusinessById(Long id) {
-        log.info("Fetching business by ID: {}", id);
+        log.debug("Fetching business by ID: {}", id);
+        if (negativeLookupCache.isKnownMissing(BusinessCacheInvalidator.BUSINESS_BY_ID, id)) {
+            log.debug("Business with ID {} is cached as missing.", id);
+            throw new ResourceNotFoundException("Business not found with ID: " + id);
+        }
         return businessRepository.findById(id)
                 .map(BusinessDto::new)
                 .orElseThrow(() -> {
                     log.warn("Business with ID {} not found.", id);
+                    negativeLookupCache.recordMissing(BusinessCacheInvalidator.BUSINESS_BY_ID, id);
                     return new ResourceNotFoundException("Business not found with ID: " + id);
                 });
     }
 
+    // businessById regionunu paylaşır: bir MGET, yalnız tapılmayanlar üçün bir IN sorğusu və pipeline ilə geri yazma.
+    // Tranzaksiya yoxdur ki, Redis gözlənilərkən DB bağlantısı tutulmasın. Tapılmayan id-lər nəticədə olmur.
+    public List<BusinessDto> getBusinessesByIds(List<Long> ids) {
+        log.debug("Fetching {} businesses by ID list.", ids.size());
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        Map<Object, Object> found = cacheBatchOperations.getAll(BusinessCacheInvalidator.BUSINESS_BY_ID, distinctIds);
+        List<Long> misses = distinctIds.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!misses.isEmpty()) {
+            Map<Long, BusinessDto> loaded = businessRepository.findDtosByIdIn(misses).stream()
+                    .collect(Collectors.toMap(BusinessDto::getId, Function.identity()));
+            cacheBatchOperations.putAll(BusinessCacheInvalidator.BUSINESS_BY_ID, loaded);
+            found.putAll(loaded);
+        }
+        log.debug("Multi-get for {} ids: {} cache hits, {} loaded from DB.", distinctIds.size(), distinctIds.size() - misses.size(), misses.size());
+        return distinctIds.stream()
+                .map(id -> (BusinessDto) found.get(id))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Cacheable(value = BusinessCacheInvalidator.BUSINESS_BY_COMPANY_NAME, key = "#companyName")
+    @Transactional(readOnly = true)
     public BusinessDto getBusinessByCompanyName(String companyName) {
-        log.info("Fetching business by company name: {}", companyName);
+        log.debug("Fetching business by company name: {}", companyName);
+        if (negativeLookupCache.isKnownMissing(BusinessCacheInvalidator.BUSINESS_BY_COMPANY_NAME, companyName)) {
+            log.debug("Business with company name '{}' is cached as missing.", companyName);
+            throw new ResourceNotFoundException("Business not found with company name: " + companyName);
+        }
         return businessRepository.findByCompanyName(companyName)
                 .map(BusinessDto::new)
                 .orElseThrow(() -> {
                     log.warn("Business with company name '{}' not found.", companyName);
+                    negativeLookupCache.recordMissing(BusinessCacheInvalidator.BUSINESS_BY_COMPANY_NAME, companyName);
                     return new ResourceNotFoundException("Business not found with company name: " + companyName);
                 });
     }
 
-    @Cacheable(value = "allBusinessesCache")
-    public List<BusinessDto> getAllBusinesses() {
-        log.info("Fetching all businesses.");
-        return businessRepository.findAll()
-                .stream()
-                .map(BusinessDto::new)
-                .collect(Collectors.toList());
+    @Cacheable(value = "allBusinessesCache", key = "#afterId + ':' + #limit", sync = true)
+    @Transactional(readOnly = true)
+    public CursorPage<BusinessDto> getBusinessesPage(long afterId, int limit) {
+        log.debug("Fetching businesses page after ID: {} (limit: {})", afterId, limit);
+        // Növbəti səhifənin olub-olmadığını bilmək üçün bir sətir artıq oxunur
+        List<BusinessDto> items = businessRepository.findDtoPageAfter(afterId, PageRequest.of(0, limit + 1));
+
+        String nextCursor = null;
+        if (items.size() > limit) {
+            items = new ArrayList<>(items.subList(0, limit));
+            nextCursor = CursorPage.encodeCursor(items.get(limit - 1).getId());
+        }
+        return new CursorPage<>(items, nextCursor, limit);
     }
 
-    @Cacheable(value = "businessesByOwnerId", key = "#ownerId")
+    @Transactional(readOnly = true)
+    public void streamAllBusinesses(Consumer<BusinessDto> consumer) {
+        log.debug("Streaming all businesses.");
+        // DTO-lar managed entity deyil, persistence context cədvəlin ölçüsündən asılı olmadan boş qalır
+        try (Stream<BusinessDto> businesses = businessRepository.streamAllDtos()) {
+            businesses.forEach(consumer);
+        }
+    }
+
+    @Cacheable(value = "businessesByOwnerId", key = "#ownerId", sync = true)
+    @Transactional(readOnly = true)
     public List<BusinessDto> getBusinessesByOwnerId(Long ownerId) {
-        log.info("Fetching businesses by owner ID: {}", ownerId);
-        List<Business> businesses = businessRepository.findByOwnerId(ownerId);
+        log.debug("Fetching businesses by owner ID: {}", ownerId);
+        List<BusinessDto> businesses = businessRepository.findDtosByOwnerId(ownerId);
         if (businesses.isEmpty()) {
             log.warn("No businesses found for owner ID: {}", ownerId);
         }
-        return businesses.stream()
-                .map(BusinessDto::new)
-                .collect(Collectors.toList());
+        return businesses;
     }
 
-    @Caching(
-            put = {
-                    @CachePut(value = "businessById", key = "#id"),
-                    @CachePut(value = "businessByCompanyName", key = "#result.companyName"),
-            },
-            evict = {
-                    @CacheEvict(value = "allBusinessesCache", allEntries = true)
-            }
-    )
-
+    @Transactional
     public BusinessDto updateBusiness(Long id, UpdateBusinessRequest request) {
         log.info("Attempting to update business with ID: {}", id);
         Business existingBusiness = businessRepository.findById(id)
@@ -118,11 +183,16 @@ public class BusinessService {
                     return new ResourceNotFoundException("Business not found with ID: " + id);
                 });
 
-        if (request.getCompanyName() != null && !existingBusiness.getCompanyName().equals(request.getCompanyName()) && businessRepository.existsByCompanyName(request.getCompanyName())) {
+        // Açar indeksi adın boş olduğunu təsdiqləyə bilmir (başqa replikada yenicə yaradılmış ad indeksdə olmaya bilər):
+        // yoxlama DB ilədir, yarış halında isə UK_COMPANY_NAME flush zamanı tutulur
+        if (request.getCompanyName() != null && !existingBusiness.getCompanyName().equals(request.getCompanyName())
+                && businessRepository.existsByCompanyName(request.getCompanyName())) {
             log.warn("Company name '{}' is already taken by another business (ID: {}).", request.getCompanyName(), id);
             throw new BusinessAlreadyExistsException("Company name " + request.getCompanyName() + " is already taken by another business.");
         }
 
+        BusinessDto businessBeforeUpdate = new BusinessDto(existingBusiness);
+
         if (request.getCompanyName() != null) existingBusiness.setCompanyName(request.getCompanyName());
         if (request.getBusinessType() != null) existingBusiness.setBusinessType(request.getBusinessType());
         if (request.getDescription() != null) existingBusiness.setDescription(request.getDescription());
@@ -131,41 +201,74 @@ public class BusinessService {
         if (request.getPhone() != null) existingBusiness.setPhone(request.getPhone());
         if (request.getAddress() != null) existingBusiness.setAddress(request.getAddress());
 
-        Business updatedBusiness = businessRepository.save(existingBusiness);
+        Business updatedBusiness;
+        try {
+            updatedBusiness = businessRepository.saveAndFlush(existingBusiness);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.violates(e, Business.UK_COMPANY_NAME, ConstraintViolations.UNIQUE_VIOLATION, "company_name")) {
+                log.warn("Company name '{}' was taken by another business concurrently (ID: {}).", request.getCompanyName(), id);
+                throw new BusinessAlreadyExistsException("Company name " + request.getCompanyName() + " is already taken by another business.");
+            }
+            throw e;
+        }
         log.info("Business with ID {} updated successfully.", id);
-        return new BusinessDto(updatedBusiness);
+        BusinessDto businessAfterUpdate = new BusinessDto(updatedBusiness);
+        businessCacheInvalidator.businessUpdated(businessBeforeUpdate, businessAfterUpdate);
+        return businessAfterUpdate;
     }
 
-    @Caching(
-            evict = {
-                    @CacheEvict(value = "businessById", key = "#id"),
-                    @CacheEvict(value = "allBusinessesCache", allEntries = true),
-            }
-    )
+    @Transactional
     public void deleteBusinessById(Long id) {
         log.info("Attempting to delete business with ID: {}", id);
-        if (!businessRepository.existsById(id)) {
-            log.warn("Business with ID {} not found for deletion operation.", id);
-            throw new ResourceNotFoundException("Business not found with ID: " + id);
-        }
-        businessRepository.deleteById(id);
+        Business business = businessRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("Business with ID {} not found for deletion operation.", id);
+                    return new ResourceNotFoundException("Business not found with ID: " + id);
+                });
+        BusinessDto deletedBusiness = new BusinessDto(business);
+        businessRepository.delete(business);
+        businessCacheInvalidator.businessesDeleted(List.of(deletedBusiness));
         log.info("Business with ID {} deleted successfully.", id);
     }
 
-    @Caching(
-            evict = {
-                    @CacheEvict(value = "businessById", allEntries = true),
-                    @CacheEvict(value = "businessByCompanyName", allEntries = true),
-                    @CacheEvict(value = "allBusinessesCache", allEntries = true),
-                    @CacheEvict(value = "businessesByOwnerId", allEntries = true)
-            }
-    )
-    public void deleteAllBusinesses() {
-        log.info("Clearing all businesses from DB and cache...");
-        businessRepository.deleteAll();
-    }
-
+    // İndeksdəki id mövcuddur; indeksdə olmayan id (başqa replikada yenicə yaradılmış, change feed hələ çatmamış
+    // və ya bitmap-in əhatə etmədiyi böyük id) "məlum deyil" sayılır və DB ilə yoxlanılır
     public boolean doesBusinessExistById(Long id) {
+        if (businessKeyIndex.isReady() && businessKeyIndex.containsId(id)) {
+            return true;
+        }
         return businessRepository.existsById(id);
     }
+
+    // Nəticədə i-ci bit ids[i] mövcud olduqda qoyulur
+    @Transactional(readOnly = true)
+    public BitSet findExistingBusinesses(List<Long> ids) {
+        BitSet existing = new BitSet(ids.size());
+        Set<Long> unknownIds = new LinkedHashSet<>();
+        boolean indexReady = businessKeyIndex.isReady();
+        for (int i = 0; i < ids.size(); i++) {
+            if (indexReady && businessKeyIndex.containsId(ids.get(i))) {
+                existing.set(i);
+            } else {
+                unknownIds.add(ids.get(i));
+            }
+        }
+        if (unknownIds.isEmpty()) {
+            return existing;
+        }
+        // İndeksdə olmayan (və ya indeks hazır deyilsə bütün) id-lər DB ilə yoxlanılır:
+        // hər chunk üçün bir IN sorğusu (padding ilə plan keşi təkrar istifadə olunur)
+        Set<Long> found = new HashSet<>();
+        List<Long> distinctIds = new ArrayList<>(unknownIds);
+        for (int from = 0; from < distinctIds.size(); from += EXISTENCE_QUERY_CHUNK_SIZE) {
+            found.addAll(businessRepository.findExistingIds(
+                    distinctIds.subList(from, Math.min(from + EXISTENCE_QUERY_CHUNK_SIZE, distinctIds.size()))));
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            if (found.contains(ids.get(i))) {
+                existing.set(i);
+            }
+        }
+        return existing;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.example.businessservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// Qısa pəncərə ərzində gələn tək-açar sorğuları toplayıb bir batch çağırışı ilə göndərir.
+// Eyni pəncərədə təkrarlanan açarlar bir future-u paylaşır; nəticədə olmayan açar null ilə tamamlanır.
+@Slf4j
+public class MicroBatcher<K, V> implements AutoCloseable {
+
+    private final Function<Set<K>, Map<K, V>> batchLoader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService executor;
+
+    // synchronized əvəzinə: virtual thread-lər carrier thread-ə pin olunmasın
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+
+    public MicroBatcher(String name, Function<Set<K>, Map<K, V>> batchLoader,
+                        Duration window, int maxBatchSize, int maxConcurrentBatches) {
+        this.batchLoader = batchLoader;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        AtomicInteger threadNumber = new AtomicInteger();
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(maxConcurrentBatches, runnable -> {
+            Thread thread = new Thread(runnable, name + "-batcher-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.executor = scheduler;
+    }
+
+    public CompletableFuture<V> submit(K key) {
+        Map<K, CompletableFuture<V>> full = null;
+        CompletableFuture<V> future;
+        lock.lock();
+        try {
+            future = pending.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            if (pending.size() == 1) {
+                // Pəncərə batch-in ilk açarı ilə başlayır
+                Map<K, CompletableFuture<V>> batch = pending;
+                executor.schedule(() -> flush(batch), windowNanos, TimeUnit.NANOSECONDS);
+            }
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new LinkedHashMap<>();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            Map<K, CompletableFuture<V>> batch = full;
+            executor.execute(() -> load(batch));
+        }
+        return future;
+    }
+
+    // Pəncərə bitəndə batch hələ dolmayıbsa göndərilir; dolub göndərilibsə bu çağırış heç nə etmir
+    private void flush(Map<K, CompletableFuture<V>> batch) {
+        lock.lock();
+        try {
+            if (pending != batch) {
+                return;
+            }
+            pending = new LinkedHashMap<>();
+        } finally {
+            lock.unlock();
+        }
+        load(batch);
+    }
+
+    private void load(Map<K, CompletableFuture<V>> batch) {
+        try {
+            Map<K, V> result = batchLoader.apply(new HashSet<>(batch.keySet()));
+            log.debug("Micro-batch of {} keys loaded in one call.", batch.size());
+            batch.forEach((key, future) -> future.complete(result.get(key)));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.businessservice.service;
+
+import com.example.businessservice.migration.V3__Search_indexes;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Axtarış predikatlarındakı %, <%, similarity və word_similarity pg_trgm tələb edir. V3__Search_indexes extension-ı
+// yarada bilmədikdə (rolun icazəsi yoxdur) axtarış 500 qaytarmır, ILIKE prefix və tsvector predikatına keçir.
+// Extension sonradan DBA tərəfindən qurularsa növbəti yoxlamada trigram axtarışı açılır.
+@Component
+@Slf4j
+public class TrigramSupport {
+
+    private static final long RECHECK_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean available;
+    private volatile long nextCheckAt = System.nanoTime();
+
+    public TrigramSupport(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Extension bir dəfə tapıldıqdan sonra yoxlama təkrarlanmır; yoxdursa ən çox RECHECK_INTERVAL-da bir yoxlanılır
+    public boolean isAvailable() {
+        if (available) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (now - nextCheckAt < 0) {
+            return false;
+        }
+        synchronized (this) {
+            if (available || now - nextCheckAt < 0) {
+                return available;
+            }
+            nextCheckAt = now + RECHECK_INTERVAL_NANOS;
+            if (isInstalled()) {
+                warnAboutMissingIndexes();
+                available = true;
+            } else {
+                log.warn("pg_trgm is not installed; search falls back to prefix and full-text matching.");
+            }
+            return available;
+        }
+    }
+
+    private boolean isInstalled() {
+        try {
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "select exists(select 1 from pg_extension where extname = 'pg_trgm')", Boolean.class));
+        } catch (DataAccessException e) {
+            log.warn("Could not check for pg_trgm: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // V3 extension olmadan işləyibsə trigram indeksləri yaradılmayıb və Flyway onları təkrar yaratmır
+    private void warnAboutMissingIndexes() {
+        for (Map.Entry<String, String> index : V3__Search_indexes.trigramIndexStatements().entrySet()) {
+            Boolean exists = jdbcTemplate.queryForObject(
+                    "select exists(select 1 from pg_class where relkind = 'i' and relname = ?)", Boolean.class, index.getKey());
+            if (!Boolean.TRUE.equals(exists)) {
+                log.warn("Trigram search index {} is missing; search works but scans. Create it with: {}", index.getKey(), index.getValue());
+            }
+        }
+    }
+}
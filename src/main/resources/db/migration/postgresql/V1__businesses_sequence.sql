@@ -0,0 +1,15 @@
+-- Business.id IDENTITY-dən pooled sequence-ə keçib (businesses_seq, allocationSize = 50).
+-- ddl-auto=update mövcud bazada sequence-i 1-dən yaradır və ya heç yaratmır: ilk insert-lər köhnə id-lərlə toqquşurdu.
+CREATE SEQUENCE IF NOT EXISTS businesses_seq START WITH 1 INCREMENT BY 50;
+
+-- Miqrasiya bitənə qədər köhnə versiyadakı replikaların insert-ləri gözləyir
+LOCK TABLE businesses IN ACCESS EXCLUSIVE MODE;
+
+-- Rolling deploy zamanı köhnə (IDENTITY) versiya id-ni sütunun default-undan alır: default eyni sequence-ə
+-- yönəldilir. Belə nextval blokun yuxarı həddidir və həmin blok pooled optimizer-ə heç vaxt verilmir.
+ALTER TABLE businesses ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE businesses ALTER COLUMN id SET DEFAULT nextval('businesses_seq');
+
+-- Pooled optimizer nextval = hi olduqda (hi - 49 .. hi) blokunu istifadə edir:
+-- setval(max(id) + 50) ilə növbəti blok max(id)-dən yuxarıda başlayır
+SELECT setval('businesses_seq', (SELECT coalesce(max(id), 0) FROM businesses) + 50);
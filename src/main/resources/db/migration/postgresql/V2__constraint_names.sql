@@ -0,0 +1,34 @@
+-- Servislər create konfliktlərini constraint adı ilə tanıyır (Business.FK_OWNER, UK_COMPANY_NAME, BusinessOwner.UK_*).
+-- ddl-auto=update köhnə bazalarda Hibernate-in generasiya etdiyi adları (fk..., uk...) dəyişmir: burada adlandırılır.
+-- Update eyni sütunda adlandırılmış constraint-i artıq yaratmışsa köhnə dublikat silinir.
+CREATE FUNCTION pg_temp.name_constraint(table_name text, constraint_type text, column_name text, wanted text) RETURNS void AS $$
+DECLARE
+    existing text;
+BEGIN
+    FOR existing IN
+        SELECT con.conname
+        FROM pg_constraint con
+        JOIN pg_class rel ON rel.oid = con.conrelid
+        JOIN pg_attribute att ON att.attrelid = rel.oid AND att.attname = column_name
+        WHERE rel.relname = table_name
+          AND pg_table_is_visible(rel.oid)
+          AND con.contype::text = constraint_type
+          AND con.conkey = ARRAY[att.attnum]
+          AND con.conname <> wanted
+    LOOP
+        IF EXISTS (SELECT 1
+                   FROM pg_constraint con
+                   JOIN pg_class rel ON rel.oid = con.conrelid
+                   WHERE rel.relname = table_name AND pg_table_is_visible(rel.oid) AND con.conname = wanted) THEN
+            EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', table_name, existing);
+        ELSE
+            EXECUTE format('ALTER TABLE %I RENAME CONSTRAINT %I TO %I', table_name, existing, wanted);
+        END IF;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT pg_temp.name_constraint('businesses', 'f', 'owner_id', 'fk_businesses_owner');
+SELECT pg_temp.name_constraint('businesses', 'u', 'company_name', 'uk_businesses_company_name');
+SELECT pg_temp.name_constraint('business_owner_profiles', 'u', 'auth_user_id', 'uk_business_owner_profiles_auth_user_id');
+SELECT pg_temp.name_constraint('business_owner_profiles', 'u', 'email', 'uk_business_owner_profiles_email');
@@ -0,0 +1,128 @@
+package com.example.businessservice.cache;
+
+import com.example.businessservice.config.CacheConfig;
+import com.example.businessservice.model.dto.CursorPage;
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.example.businessservice.model.dto.businessOwnerdto.BusinessOwnerDto;
+import com.example.businessservice.model.dto.businessOwnerdto.BusinessOwnerWithBusinessesDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryCacheSerializerTest {
+
+	private final GenericJackson2JsonRedisSerializer json = CacheConfig.jsonCacheSerializer();
+	private final BinaryCacheSerializer binary = new BinaryCacheSerializer(json, 1024);
+
+	@Test
+	void roundTripsEveryCachedValueShape() {
+		BusinessDto business = business(1L);
+		business.setOwner(owner(7L));
+		BusinessOwnerDto ownerWithNulls = BusinessOwnerDto.builder().id(8L).authUserId(108L).firstName("Ayşə").build();
+		List<Object> values = List.of(
+				business,
+				owner(7L),
+				ownerWithNulls,
+				businesses(5),
+				new CursorPage<>(businesses(3), CursorPage.encodeCursor(3L), 3),
+				new CursorPage<>(List.of(), null, 50),
+				new BusinessOwnerWithBusinessesDto(owner(7L), businesses(2)),
+				Boolean.TRUE);
+
+		for (Object value : values) {
+			assertThat(binary.deserialize(binary.serialize(value))).isEqualTo(value);
+		}
+	}
+
+	@Test
+	void listsAreSmallerThanJsonAndCompressedAboveThreshold() {
+		List<BusinessDto> list = businesses(200);
+
+		byte[] jsonBytes = json.serialize(list);
+		byte[] uncompressed = new BinaryCacheSerializer(json, 0).serialize(list);
+		byte[] compressed = binary.serialize(list);
+
+		assertThat(uncompressed.length).isLessThan(jsonBytes.length / 2);
+		assertThat(compressed[2] & BinaryCacheSerializer.FLAG_DEFLATED).isNotZero();
+		assertThat(compressed.length).isLessThan(uncompressed.length);
+		assertThat(binary.deserialize(compressed)).isEqualTo(list);
+	}
+
+	@Test
+	void smallValuesAreNotCompressed() {
+		byte[] bytes = binary.serialize(business(1L));
+
+		assertThat(bytes[0]).isEqualTo(BinaryCacheSerializer.MAGIC);
+		assertThat(bytes[2] & BinaryCacheSerializer.FLAG_DEFLATED).isZero();
+	}
+
+	@Test
+	void readsEntriesWrittenByTheJsonSerializer() {
+		BusinessDto business = business(1L);
+
+		assertThat(binary.deserialize(json.serialize(business))).isEqualTo(business);
+		assertThat(binary.deserialize(json.serialize(businesses(3)))).isEqualTo(businesses(3));
+	}
+
+	@Test
+	void unsupportedTypesFallBackToJson() {
+		Map<String, Object> value = new HashMap<>(Map.of("key", "value"));
+
+		byte[] bytes = binary.serialize(value);
+
+		assertThat(bytes[0]).isNotEqualTo(BinaryCacheSerializer.MAGIC);
+		assertThat(binary.deserialize(bytes)).isEqualTo(value);
+	}
+
+	@Test
+	void rejectsNewerSchemaVersions() {
+		byte[] bytes = binary.serialize(business(1L));
+		bytes[1] = BinaryCacheSerializer.VERSION + 1;
+
+		assertThatThrownBy(() -> binary.deserialize(bytes)).isInstanceOf(SerializationException.class);
+	}
+
+	private static List<BusinessDto> businesses(int count) {
+		return LongStream.rangeClosed(1, count).mapToObj(BinaryCacheSerializerTest::business)
+				.collect(Collectors.toCollection(ArrayList::new));
+	}
+
+	private static BusinessDto business(long id) {
+		LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000).plusMinutes(id);
+		return new BusinessDto(id, "Company " + id, "Retail", "Description of company " + id,
+				"https://company" + id + ".example.com", "info@company" + id + ".example.com", "+994501234567",
+				"Bakı, Nizami küçəsi " + id, createdAt, createdAt.plusDays(1), id % 10 + 1);
+	}
+
+	private static BusinessOwnerDto owner(long id) {
+		return BusinessOwnerDto.builder()
+				.id(id)
+				.authUserId(100 + id)
+				.firstName("Owner")
+				.lastName("No" + id)
+				.dateOfBirth(LocalDate.of(1990, 1, 15))
+				.education("BSc")
+				.skills("java, sql")
+				.email("owner" + id + "@example.com")
+				.phone("+994551112233")
+				.jobTitle("Founder")
+				.yearsOfExperience(12)
+				.linkedInProfileUrl("https://linkedin.com/in/owner" + id)
+				.bio("Bio")
+				.createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+				.updatedAt(LocalDateTime.of(2024, 1, 2, 0, 0))
+				.build();
+	}
+}
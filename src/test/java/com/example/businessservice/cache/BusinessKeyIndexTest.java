@@ -0,0 +1,115 @@
+package com.example.businessservice.cache;
+
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.example.businessservice.model.dto.businessDto.BusinessKey;
+import com.example.businessservice.repository.BusinessRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BusinessKeyIndexTest {
+
+	private static final String CHANNEL = "business-changes";
+
+	private final BusinessRepository businessRepository = mock(BusinessRepository.class);
+	private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private BusinessKeyIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new BusinessKeyIndex(businessRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+				redisTemplate, objectMapper, true, CHANNEL, 0);
+	}
+
+	@Test
+	void isNotReadyUntilTheFirstScanCompletes() {
+		when(businessRepository.streamAllKeys()).thenReturn(Stream.of(key(1L, "Acme"), key(70_000L, "Globex")));
+
+		assertThat(index.isReady()).isFalse();
+		index.rebuild();
+
+		assertThat(index.isReady()).isTrue();
+		assertThat(index.containsId(1L)).isTrue();
+		assertThat(index.containsId(70_000L)).isTrue();
+		assertThat(index.containsId(2L)).isFalse();
+		assertThat(index.containsCompanyName("Acme")).isTrue();
+		assertThat(index.containsCompanyName("acme")).isFalse();
+	}
+
+	@Test
+	void mutationsCommittedWhileScanningAreNotLostOrUndone() {
+		// Scan snapshot-u 1 və 2-ni görür; scan gedərkən 1 silinir, 2 adını dəyişir və 3 yaradılır
+		when(businessRepository.streamAllKeys()).thenAnswer(invocation -> Stream.of(key(1L, "Acme"), key(2L, "Initech"))
+				.peek(key -> {
+					if (key.getId() == 2L) {
+						index.businessesDeleted(List.of(dto(1L, "Acme")));
+						index.businessUpdated(dto(2L, "Initech"), dto(2L, "Initrode"));
+						index.businessesCreated(List.of(dto(3L, "Hooli")));
+					}
+				}));
+
+		index.rebuild();
+
+		assertThat(index.containsId(1L)).isFalse();
+		assertThat(index.containsCompanyName("Acme")).isFalse();
+		assertThat(index.containsCompanyName("Initech")).isFalse();
+		assertThat(index.containsCompanyName("Initrode")).isTrue();
+		assertThat(index.containsId(3L)).isTrue();
+		assertThat(index.containsCompanyName("Hooli")).isTrue();
+	}
+
+	@Test
+	void localChangesArePublishedAndRemoteChangesApplied() throws Exception {
+		when(businessRepository.streamAllKeys()).thenReturn(Stream.empty());
+		index.rebuild();
+
+		index.businessesCreated(List.of(dto(5L, "Acme")));
+		verify(redisTemplate).convertAndSend(eq(CHANNEL), anyString());
+
+		BusinessKeyIndex.ChangeFeedMessage remote = new BusinessKeyIndex.ChangeFeedMessage("other-replica", false,
+				List.of(BusinessKeyIndex.Change.removed(5L, "Acme"), BusinessKeyIndex.Change.added(6L, "Globex")));
+		index.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), objectMapper.writeValueAsBytes(remote)), null);
+
+		assertThat(index.containsId(5L)).isFalse();
+		assertThat(index.containsCompanyName("Acme")).isFalse();
+		assertThat(index.containsId(6L)).isTrue();
+		assertThat(index.containsCompanyName("Globex")).isTrue();
+	}
+
+	private static BusinessDto dto(Long id, String companyName) {
+		BusinessDto dto = new BusinessDto();
+		dto.setId(id);
+		dto.setCompanyName(companyName);
+		return dto;
+	}
+
+	private static BusinessKey key(Long id, String companyName) {
+		return new BusinessKey() {
+			@Override
+			public Long getId() {
+				return id;
+			}
+
+			@Override
+			public String getCompanyName() {
+				return companyName;
+			}
+		};
+	}
+}
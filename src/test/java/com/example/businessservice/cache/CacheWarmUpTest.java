@@ -0,0 +1,107 @@
+package com.example.businessservice.cache;
+
+import com.example.businessservice.config.CacheWarmUpProperties;
+import com.example.businessservice.model.dto.CursorPage;
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.example.businessservice.repository.BusinessOwnerRepository;
+import com.example.businessservice.repository.BusinessRepository;
+import com.example.businessservice.service.BusinessOwnerService;
+import com.example.businessservice.service.BusinessService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheWarmUpTest {
+
+	private final CacheWarmUpProperties properties = new CacheWarmUpProperties();
+	private final HotKeyTracker hotKeyTracker = mock(HotKeyTracker.class);
+	private final CacheBatchOperations cacheBatchOperations = mock(CacheBatchOperations.class);
+	private final BusinessRepository businessRepository = mock(BusinessRepository.class);
+	private final BusinessService businessService = mock(BusinessService.class);
+	private CacheWarmUp cacheWarmUp;
+
+	@BeforeEach
+	void setUp() {
+		when(hotKeyTracker.topKeys(anyString(), anyInt())).thenReturn(List.of());
+		cacheWarmUp = new CacheWarmUp(properties, hotKeyTracker, cacheBatchOperations, businessRepository,
+				mock(BusinessOwnerRepository.class), businessService, mock(BusinessOwnerService.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void loadsHotIdsInBatchesAndPipelinesThemIntoTheCache() {
+		properties.setBatchSize(2);
+		when(hotKeyTracker.topKeys(eq(BusinessCacheInvalidator.BUSINESS_BY_ID), anyInt()))
+				.thenReturn(List.of("1", "2", "3", "not-an-id"));
+		when(businessRepository.findDtosByIdIn(anyCollection())).thenAnswer(invocation ->
+				invocation.<Collection<Long>>getArgument(0).stream().map(CacheWarmUpTest::business).toList());
+
+		cacheWarmUp.run(null);
+
+		verify(businessRepository).findDtosByIdIn(List.of(1L, 2L));
+		verify(businessRepository).findDtosByIdIn(List.of(3L));
+		verify(cacheBatchOperations, times(2)).putAll(eq(BusinessCacheInvalidator.BUSINESS_BY_ID), anyMap());
+		verify(cacheBatchOperations).putAll(BusinessCacheInvalidator.BUSINESS_BY_ID, Map.of(3L, business(3L)));
+	}
+
+	@Test
+	void pageKeysGoThroughTheCachedServiceMethod() {
+		when(hotKeyTracker.topKeys(eq(BusinessCacheInvalidator.ALL_BUSINESSES_PAGES), anyInt()))
+				.thenReturn(List.of("0:50", "120:20"));
+		when(businessService.getBusinessesPage(anyLong(), anyInt())).thenReturn(new CursorPage<>(List.of(), null, 50));
+
+		cacheWarmUp.run(null);
+
+		verify(businessService).getBusinessesPage(0L, 50);
+		verify(businessService).getBusinessesPage(120L, 20);
+	}
+
+	@Test
+	void redisFailureSkipsTheCacheWithoutFailingStartup() {
+		when(hotKeyTracker.topKeys(anyString(), anyInt())).thenThrow(new IllegalStateException("redis down"));
+
+		cacheWarmUp.run(null);
+
+		verify(cacheBatchOperations, never()).putAll(anyString(), anyMap());
+	}
+
+	@Test
+	void stopsWaitingWhenTheTimeBudgetRunsOut() {
+		properties.setTimeBudgetSeconds(1);
+		when(hotKeyTracker.topKeys(eq(BusinessCacheInvalidator.ALL_BUSINESSES_PAGES), anyInt()))
+				.thenReturn(List.of("0:50"));
+		when(businessService.getBusinessesPage(anyLong(), anyInt())).thenAnswer(invocation -> {
+			Thread.sleep(10_000);
+			return null;
+		});
+
+		long startedAt = System.nanoTime();
+		cacheWarmUp.run(null);
+
+		assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(5));
+	}
+
+	private static BusinessDto business(Long id) {
+		BusinessDto dto = new BusinessDto();
+		dto.setId(id);
+		dto.setCompanyName("Company " + id);
+		return dto;
+	}
+}
@@ -0,0 +1,107 @@
+package com.example.businessservice.cache;
+
+import com.example.businessservice.config.CacheWarmUpProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class HotKeyTrackerTest {
+
+	@Test
+	void sketchNeverUnderestimatesAndStaysCloseForHeavyHitters() {
+		CountMinSketch sketch = new CountMinSketch(4, 1024);
+		for (int i = 0; i < 5_000; i++) {
+			sketch.increment("noise-" + i);
+		}
+		for (int i = 0; i < 500; i++) {
+			sketch.increment("hot");
+		}
+
+		assertThat(sketch.estimate("hot")).isBetween(500L, 520L);
+		assertThat(sketch.estimate("never-seen")).isLessThan(20L);
+	}
+
+	@Test
+	void sketchHalvesCountsSoOldPopularityFades() {
+		CountMinSketch sketch = new CountMinSketch(4, 16);
+		for (int i = 0; i < 100; i++) {
+			sketch.increment("old");
+		}
+		long before = sketch.estimate("old");
+
+		for (int i = 0; i < 200; i++) {
+			sketch.increment("new-" + (i % 4));
+		}
+
+		assertThat(sketch.agingRounds()).isPositive();
+		assertThat(sketch.estimate("old")).isLessThan(before);
+	}
+
+	@Test
+	void topKKeepsTheHeaviestKeysUnderSkewedConcurrentLoad() throws Exception {
+		CacheWarmUpProperties properties = new CacheWarmUpProperties();
+		properties.getHotKeys().setTopK(10);
+		HotKeyTracker tracker = new HotKeyTracker(mock(StringRedisTemplate.class), properties);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> results = new java.util.ArrayList<>();
+			for (int thread = 0; thread < 8; thread++) {
+				int seed = thread;
+				results.add(executor.submit(() -> {
+					Random random = new Random(seed);
+					for (int i = 0; i < 20_000; i++) {
+						// 1..10 açarları trafikin yarısını alır, qalanı 10 000 açara yayılır
+						long key = random.nextBoolean() ? 1 + random.nextInt(10) : 1_000 + random.nextInt(10_000);
+						tracker.record(BusinessCacheInvalidator.BUSINESS_BY_ID, key);
+					}
+				}));
+			}
+			for (Future<?> result : results) {
+				result.get(10, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		List<HotKeyTracker.HotKey> hotKeys = tracker.hotKeys(BusinessCacheInvalidator.BUSINESS_BY_ID, 10);
+		assertThat(hotKeys).extracting(HotKeyTracker.HotKey::key)
+				.containsExactlyInAnyOrder("1", "2", "3", "4", "5", "6", "7", "8", "9", "10");
+		assertThat(tracker.isHot(BusinessCacheInvalidator.BUSINESS_BY_ID, 3L)).isTrue();
+		assertThat(tracker.isHot(BusinessCacheInvalidator.BUSINESS_BY_ID, 5_000L)).isFalse();
+		assertThat(tracker.estimate(BusinessCacheInvalidator.BUSINESS_BY_ID, 3L))
+				.isGreaterThan(tracker.estimate(BusinessCacheInvalidator.BUSINESS_BY_ID, 5_000L));
+	}
+
+	@Test
+	void warmUpLoadsAreNotCountedAsAccesses() {
+		HotKeyTracker tracker = new HotKeyTracker(mock(StringRedisTemplate.class), new CacheWarmUpProperties());
+
+		HotKeyTracker.withoutRecording(() -> {
+			tracker.record(BusinessCacheInvalidator.BUSINESS_BY_ID, 1L);
+			return null;
+		});
+		tracker.record(BusinessCacheInvalidator.BUSINESS_BY_ID, 2L);
+
+		assertThat(tracker.estimate(BusinessCacheInvalidator.BUSINESS_BY_ID, 1L)).isZero();
+		assertThat(tracker.estimate(BusinessCacheInvalidator.BUSINESS_BY_ID, 2L)).isEqualTo(1L);
+	}
+
+	@Test
+	void untrackedCachesAreIgnored() {
+		HotKeyTracker tracker = new HotKeyTracker(mock(StringRedisTemplate.class), new CacheWarmUpProperties());
+
+		tracker.record("someOtherCache", 1L);
+
+		assertThat(tracker.estimate("someOtherCache", 1L)).isZero();
+		assertThat(tracker.hotKeys("someOtherCache", 10)).isEmpty();
+	}
+}
@@ -0,0 +1,139 @@
+package com.example.businessservice.cache;
+
+import com.example.businessservice.config.NearCacheProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TwoLevelCacheStampedeTest {
+
+	private final NearCacheProperties.Stampede stampede = new NearCacheProperties.Stampede();
+	private final ConcurrentMapCache remoteCache = new ConcurrentMapCache("pages", false);
+	private final ExecutorService executor = Executors.newFixedThreadPool(16);
+	private TwoLevelCacheManager cacheManager;
+	private TwoLevelCache cache;
+
+	@BeforeEach
+	void setUp() {
+		cacheManager = mock(TwoLevelCacheManager.class);
+		when(cacheManager.stampede()).thenReturn(stampede);
+		when(cacheManager.admitToLocal(anyString(), any())).thenReturn(true);
+		when(cacheManager.tryAcquireLoadLock(anyString(), any())).thenReturn("token");
+		when(cacheManager.submitRefresh(any())).thenAnswer(invocation -> {
+			invocation.<Runnable>getArgument(0).run();
+			return true;
+		});
+		cache = new TwoLevelCache("pages",
+				Caffeine.newBuilder().maximumSize(100).build(),
+				Caffeine.newBuilder().maximumSize(100).build(),
+				remoteCache, cacheManager, new SimpleMeterRegistry());
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void concurrentMissesRunTheLoaderOnce() throws Exception {
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<String>> results = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			results.add(executor.submit(() -> {
+				start.await();
+				return cache.get("0:50", () -> {
+					loads.incrementAndGet();
+					Thread.sleep(200);
+					return "page";
+				});
+			}));
+		}
+
+		start.countDown();
+
+		for (Future<String> result : results) {
+			assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("page");
+		}
+		assertThat(loads).hasValue(1);
+		verify(cacheManager).releaseLoadLock("pages", "0:50", "token");
+	}
+
+	@Test
+	void waitsForTheReplicaHoldingTheLoadLock() throws Exception {
+		when(cacheManager.tryAcquireLoadLock(anyString(), any())).thenReturn(null);
+		executor.submit(() -> {
+			Thread.sleep(100);
+			remoteCache.put("0:50", "loaded by another replica");
+			return null;
+		});
+
+		String value = cache.get("0:50", () -> "loaded locally");
+
+		assertThat(value).isEqualTo("loaded by another replica");
+	}
+
+	@Test
+	void loadsLocallyWhenTheLockHolderDoesNotFinishInTime() {
+		stampede.setLockWaitMillis(50);
+		when(cacheManager.tryAcquireLoadLock(anyString(), any())).thenReturn(null);
+
+		assertThat(cache.get("0:50", () -> "loaded locally")).isEqualTo("loaded locally");
+	}
+
+	@Test
+	void hitCloseToExpiryRefreshesAheadAndServesTheCachedValue() {
+		when(cacheManager.remoteTtl(eq("pages"), any(), any())).thenReturn(Duration.ofMillis(1));
+		AtomicInteger loads = new AtomicInteger();
+
+		String first = cache.get("0:50", () -> "v" + loads.incrementAndGet());
+		sleep(5);
+		String second = cache.get("0:50", () -> "v" + loads.incrementAndGet());
+
+		assertThat(first).isEqualTo("v1");
+		assertThat(second).isEqualTo("v1");
+		assertThat(loads).hasValue(2);
+		assertThat(remoteCache.get("0:50").get()).isEqualTo("v2");
+	}
+
+	@Test
+	void hitFarFromExpiryDoesNotRefresh() {
+		when(cacheManager.remoteTtl(eq("pages"), any(), any())).thenReturn(Duration.ofMinutes(5));
+		AtomicInteger loads = new AtomicInteger();
+
+		for (int i = 0; i < 100; i++) {
+			cache.get("0:50", () -> "v" + loads.incrementAndGet());
+		}
+
+		assertThat(loads).hasValue(1);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
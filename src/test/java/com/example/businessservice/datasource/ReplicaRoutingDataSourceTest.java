@@ -0,0 +1,135 @@
+package com.example.businessservice.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Primary və replika iki ayrı in-memory H2-dir; hər birində hansı node olduğunu qaytaran cədvəl var
+class ReplicaRoutingDataSourceTest {
+
+	private static final String WHICH_NODE = "select name from node";
+
+	private final DataSource primary = node("primary");
+	private final DataSource replica = node("replica");
+	private final ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(30));
+	private ReplicaLagMonitor lagMonitor;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate writeTransaction;
+	private TransactionTemplate readOnlyTransaction;
+
+	@BeforeEach
+	void setUp() {
+		new JdbcTemplate(replica).execute("create table if not exists replica_lag (lag_millis bigint)");
+		lagMonitor = new ReplicaLagMonitor(replica, "select lag_millis from replica_lag", 1000, 1000, new SimpleMeterRegistry());
+		setReplicaLag(0);
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, lagMonitor, readYourWrites,
+				new SimpleMeterRegistry());
+		routing.afterPropertiesSet();
+		DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		writeTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+	}
+
+	@AfterEach
+	void tearDown() {
+		readYourWrites.endRequest();
+	}
+
+	@Test
+	void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() {
+		assertThat(readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHICH_NODE, String.class)))
+				.isEqualTo("replica");
+		assertThat(writeTransaction.execute(status -> jdbcTemplate.queryForObject(WHICH_NODE, String.class)))
+				.isEqualTo("primary");
+		// Tranzaksiyasız çağırışlar
+		assertThat(jdbcTemplate.queryForObject(WHICH_NODE, String.class)).isEqualTo("primary");
+	}
+
+	@Test
+	void readOnlyCallInsideAWriteTransactionStaysOnThePrimary() {
+		String node = writeTransaction.execute(status ->
+				readOnlyTransaction.execute(inner -> jdbcTemplate.queryForObject(WHICH_NODE, String.class)));
+
+		assertThat(node).isEqualTo("primary");
+	}
+
+	@Test
+	void laggingOrUnreachableReplicaIsBypassed() {
+		setReplicaLag(5000);
+		assertThat(readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHICH_NODE, String.class)))
+				.isEqualTo("primary");
+
+		new JdbcTemplate(replica).execute("drop table replica_lag");
+		lagMonitor.check();
+		assertThat(readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHICH_NODE, String.class)))
+				.isEqualTo("primary");
+
+		new JdbcTemplate(replica).execute("create table replica_lag (lag_millis bigint)");
+		setReplicaLag(200);
+		assertThat(readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHICH_NODE, String.class)))
+				.isEqualTo("replica");
+	}
+
+	@Test
+	void committedWriteMakesTheClientReadFromThePrimary() {
+		readYourWrites.beginRequest("42");
+		writeTransaction.executeWithoutResult(status -> jdbcTemplate.update("update node set writes = writes + 1"));
+		assertThat(readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHICH_NODE, String.class)))
+				.isEqualTo("primary");
+		readYourWrites.endRequest();
+
+		// Eyni klientin növbəti sorğusu
+		readYourWrites.beginRequest("42");
+		assertThat(readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHICH_NODE, String.class)))
+				.isEqualTo("primary");
+		readYourWrites.endRequest();
+
+		// Başqa klient
+		readYourWrites.beginRequest("7");
+		assertThat(readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHICH_NODE, String.class)))
+				.isEqualTo("replica");
+	}
+
+	@Test
+	void rolledBackWriteDoesNotPinTheClient() {
+		readYourWrites.beginRequest("42");
+		writeTransaction.executeWithoutResult(status -> {
+			jdbcTemplate.update("update node set writes = writes + 1");
+			status.setRollbackOnly();
+		});
+
+		assertThat(readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHICH_NODE, String.class)))
+				.isEqualTo("replica");
+	}
+
+	private void setReplicaLag(long lagMillis) {
+		JdbcTemplate replicaJdbcTemplate = new JdbcTemplate(replica);
+		replicaJdbcTemplate.update("delete from replica_lag");
+		replicaJdbcTemplate.update("insert into replica_lag (lag_millis) values (?)", lagMillis);
+		lagMonitor.check();
+	}
+
+	private static DataSource node(String name) {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("create table if not exists node (name varchar(16), writes int)");
+		jdbcTemplate.execute("delete from node");
+		jdbcTemplate.update("insert into node (name, writes) values (?, 0)", name);
+		return dataSource;
+	}
+}
@@ -0,0 +1,115 @@
+package com.example.businessservice.repository;
+
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.example.businessservice.model.entity.Business;
+import com.example.businessservice.model.entity.BusinessOwner;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class BusinessRepositoryStatementCountTest {
+
+	// Feign/Redis konfiqurasiyası olan əsas tətbiq sinfi əvəzinə yalnız JPA hissəsi yüklənir
+	@Configuration
+	@EntityScan(basePackageClasses = Business.class)
+	@EnableJpaRepositories(basePackageClasses = BusinessRepository.class)
+	static class JpaConfig {
+	}
+
+	private static final int OWNER_COUNT = 3;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private BusinessRepository businessRepository;
+
+	@Autowired
+	private BusinessOwnerRepository businessOwnerRepository;
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 10, 100})
+	void listingQueriesIssueOneStatementEachRegardlessOfResultSize(int businessesPerOwner) {
+		List<BusinessOwner> owners = persistOwnersWithBusinesses(businessesPerOwner);
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		List<BusinessDto> byOwner = businessRepository.findDtosByOwnerId(owners.get(0).getId());
+		List<BusinessDto> page = businessRepository.findDtoPageAfter(0L, PageRequest.of(0, 1000));
+		long streamed;
+		try (Stream<BusinessDto> stream = businessRepository.streamAllDtos()) {
+			streamed = stream.count();
+		}
+
+		assertThat(byOwner).hasSize(businessesPerOwner)
+				.allMatch(dto -> owners.get(0).getId().equals(dto.getOwnerId()));
+		assertThat(page).hasSize(businessesPerOwner * OWNER_COUNT)
+				.allMatch(dto -> dto.getOwnerId() != null);
+		assertThat(streamed).isEqualTo(businessesPerOwner * OWNER_COUNT);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 10, 100})
+	void ownerAggregateLoadsWithOneStatementAndPageWithTwo(int businessesPerOwner) {
+		List<BusinessOwner> owners = persistOwnersWithBusinesses(businessesPerOwner);
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		BusinessOwner owner = businessOwnerRepository.findWithBusinessesById(owners.get(0).getId()).orElseThrow();
+		assertThat(owner.getBusinesses()).hasSize(businessesPerOwner);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		statistics.clear();
+		List<BusinessOwner> page = businessOwnerRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, OWNER_COUNT));
+		List<BusinessDto> businesses = businessRepository.findDtosByOwnerIdIn(page.stream().map(BusinessOwner::getId).toList());
+		assertThat(businesses).hasSize(businessesPerOwner * OWNER_COUNT);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	private List<BusinessOwner> persistOwnersWithBusinesses(int businessesPerOwner) {
+		List<BusinessOwner> owners = new ArrayList<>();
+		for (int o = 0; o < OWNER_COUNT; o++) {
+			BusinessOwner owner = entityManager.persist(BusinessOwner.builder()
+					.authUserId(1000L + o)
+					.firstName("Owner")
+					.lastName("No" + o)
+					.email("owner" + o + "@example.com")
+					.build());
+			for (int b = 0; b < businessesPerOwner; b++) {
+				entityManager.persist(Business.builder()
+						.companyName("Company " + o + "-" + b)
+						.businessType("Retail")
+						.owner(owner)
+						.build());
+			}
+			owners.add(owner);
+		}
+		entityManager.flush();
+		entityManager.clear();
+		return owners;
+	}
+}
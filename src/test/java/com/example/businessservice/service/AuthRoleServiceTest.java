@@ -0,0 +1,224 @@
+package com.example.businessservice.service;
+
+import com.example.businessservice.config.AuthServiceProperties;
+import com.example.businessservice.exception.AuthServiceUnavailableException;
+import com.example.businessservice.exception.ResourceNotFoundException;
+import com.example.businessservice.feign.AuthServiceClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.Request;
+import feign.Retryer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Feign klienti lokal stub HTTP serverə qarşı real HTTP ilə işləyir
+class AuthRoleServiceTest {
+
+	private static final int READ_TIMEOUT_MILLIS = 300;
+
+	private HttpServer server;
+	private static final long UNKNOWN_USER_ID = 404L;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final AtomicInteger roleRequests = new AtomicInteger();
+	private final AtomicInteger batchRequests = new AtomicInteger();
+	// Batch açıq olduqda hər servis öz MicroBatcher thread-ini yaradır
+	private final List<AuthRoleService> services = new ArrayList<>();
+	private volatile long responseDelayMillis;
+	private volatile int responseStatus = 200;
+
+	@BeforeEach
+	void startStub() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/api/auth/", this::handleRole);
+		server.start();
+	}
+
+	@AfterEach
+	void stopStub() {
+		services.forEach(AuthRoleService::shutdown);
+		server.stop(0);
+	}
+
+	@Test
+	void concurrentLookupsForTheSameUserShareOneRequestAndAreCached() throws Exception {
+		responseDelayMillis = 200;
+		AuthRoleService service = newService(new AuthServiceProperties());
+		ExecutorService callers = Executors.newFixedThreadPool(16);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<String>> results = new ArrayList<>();
+		try {
+			for (int i = 0; i < 16; i++) {
+				results.add(callers.submit(() -> {
+					start.await();
+					return service.getUserRole(7L);
+				}));
+			}
+			start.countDown();
+			for (Future<String> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("BUSINESS_OWNER");
+			}
+		} finally {
+			callers.shutdownNow();
+		}
+
+		assertThat(service.getUserRole(7L)).isEqualTo("BUSINESS_OWNER");
+		assertThat(roleRequests).hasValue(1);
+	}
+
+	@Test
+	void unknownUserIsReportedAsNotFoundAndNotCached() {
+		responseStatus = 404;
+		AuthRoleService service = newService(new AuthServiceProperties());
+
+		assertThatThrownBy(() -> service.getUserRole(8L)).isInstanceOf(ResourceNotFoundException.class);
+		assertThatThrownBy(() -> service.getUserRole(8L)).isInstanceOf(ResourceNotFoundException.class);
+
+		assertThat(roleRequests).hasValue(2);
+		assertThat(service.circuitBreakerState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void slowAuthServiceTimesOutRetriesOnceAndThenOpensTheCircuit() {
+		responseDelayMillis = READ_TIMEOUT_MILLIS * 3L;
+		AuthServiceProperties properties = new AuthServiceProperties();
+		properties.getCircuitBreaker().setSlidingWindowSize(4);
+		properties.getCircuitBreaker().setMinimumNumberOfCalls(4);
+		properties.getRetry().setWaitDurationMillis(10);
+		AuthRoleService service = newService(properties);
+
+		// Hər lookup 2 cəhd edir (ilk + 1 retry); 2 lookup = 4 uğursuz çağırış və circuit açılır
+		for (long id = 1; id <= 2; id++) {
+			long authUserId = id;
+			assertThatThrownBy(() -> service.getUserRole(authUserId)).isInstanceOf(AuthServiceUnavailableException.class);
+		}
+		assertThat(roleRequests).hasValue(4);
+		assertThat(service.circuitBreakerState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+		long startedAt = System.nanoTime();
+		assertThatThrownBy(() -> service.getUserRole(3L)).isInstanceOf(AuthServiceUnavailableException.class);
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(READ_TIMEOUT_MILLIS);
+		assertThat(roleRequests).hasValue(4);
+	}
+
+	@Test
+	void concurrentLookupsForDifferentUsersAreSentAsOneBatch() throws Exception {
+		responseDelayMillis = 50;
+		AuthServiceProperties properties = new AuthServiceProperties();
+		properties.getBatch().setEnabled(true);
+		properties.getBatch().setWindowMillis(50);
+		AuthRoleService service = newService(properties);
+		ExecutorService callers = Executors.newFixedThreadPool(20);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<String>> results = new ArrayList<>();
+		try {
+			for (long id = 1; id <= 20; id++) {
+				long authUserId = id;
+				results.add(callers.submit(() -> {
+					start.await();
+					return service.getUserRole(authUserId);
+				}));
+			}
+			start.countDown();
+			for (Future<String> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("BUSINESS_OWNER");
+			}
+		} finally {
+			callers.shutdownNow();
+		}
+
+		assertThat(batchRequests.get()).isBetween(1, 2);
+		assertThat(roleRequests).hasValue(0);
+		assertThatThrownBy(() -> newService(properties).getUserRole(UNKNOWN_USER_ID))
+				.isInstanceOf(ResourceNotFoundException.class);
+	}
+
+	private AuthRoleService newService(AuthServiceProperties properties) {
+		ObjectFactory<HttpMessageConverters> converters = () -> new HttpMessageConverters(new MappingJackson2HttpMessageConverter());
+		AuthServiceClient client = Feign.builder()
+				.contract(new SpringMvcContract())
+				.encoder(new SpringEncoder(converters))
+				.decoder(new SpringDecoder(converters))
+				// Spring Cloud OpenFeign-in default-u kimi: təkrarlar yalnız AuthRoleService-in retry-ı ilə
+				.retryer(Retryer.NEVER_RETRY)
+				.options(new Request.Options(200, TimeUnit.MILLISECONDS, READ_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS, true))
+				.target(AuthServiceClient.class, "http://localhost:" + server.getAddress().getPort());
+		AuthRoleService service = new AuthRoleService(client, properties, new SimpleMeterRegistry());
+		services.add(service);
+		return service;
+	}
+
+	private void handleRole(HttpExchange exchange) throws IOException {
+		if (exchange.getRequestURI().getPath().equals("/api/auth/roles")) {
+			handleRoles(exchange);
+			return;
+		}
+		roleRequests.incrementAndGet();
+		try {
+			Thread.sleep(responseDelayMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		byte[] body = (responseStatus == 200 ? "BUSINESS_OWNER" : "").getBytes(StandardCharsets.UTF_8);
+		respond(exchange, responseStatus, body, "text/plain");
+	}
+
+	private void handleRoles(HttpExchange exchange) throws IOException {
+		batchRequests.incrementAndGet();
+		try {
+			Thread.sleep(responseDelayMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		Long[] ids = objectMapper.readValue(exchange.getRequestBody(), Long[].class);
+		Map<Long, String> roles = new HashMap<>();
+		for (Long id : ids) {
+			if (id != UNKNOWN_USER_ID) {
+				roles.put(id, "BUSINESS_OWNER");
+			}
+		}
+		respond(exchange, 200, objectMapper.writeValueAsBytes(roles), "application/json");
+	}
+
+	private static void respond(HttpExchange exchange, int status, byte[] body, String contentType) {
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		try (OutputStream out = exchange.getResponseBody()) {
+			exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+			if (body.length > 0) {
+				out.write(body);
+			}
+		} catch (IOException ignored) {
+			// klient timeout-dan sonra bağlantını bağlamış ola bilər
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package com.example.businessservice.service;
+
+import com.example.businessservice.cache.BusinessCacheInvalidator;
+import com.example.businessservice.model.dto.businessDto.BulkCreateBusinessResponse;
+import com.example.businessservice.model.dto.businessDto.BulkItemResult;
+import com.example.businessservice.model.dto.businessDto.BusinessDeletionFilter;
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.example.businessservice.model.dto.businessDto.CreateBusinessRequest;
+import com.example.businessservice.model.entity.Business;
+import com.example.businessservice.model.entity.BusinessOwner;
+import com.example.businessservice.repository.BusinessOwnerRepository;
+import com.example.businessservice.repository.BusinessRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BusinessBulkServiceTest {
+
+	private final BusinessRepository businessRepository = mock(BusinessRepository.class);
+	private final BusinessOwnerRepository businessOwnerRepository = mock(BusinessOwnerRepository.class);
+	private final BusinessCacheInvalidator businessCacheInvalidator = mock(BusinessCacheInvalidator.class);
+	private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+	private final AtomicLong idSequence = new AtomicLong();
+	// saveAllAndFlush çağırışlarının ölçüləri (chunk-lar və sətir-sətir təkrarlar)
+	private final List<Integer> flushedBatches = new ArrayList<>();
+	// Yoxlamadan sonra paralel yaradılmış adlar və silinmiş sahiblər
+	private final List<String> concurrentlyTakenNames = new ArrayList<>();
+	private final List<Long> concurrentlyDeletedOwners = new ArrayList<>();
+	private BusinessBulkService bulkService;
+
+	@BeforeEach
+	void setUp() {
+		bulkService = new BusinessBulkService(businessRepository, businessOwnerRepository, businessCacheInvalidator,
+				transactionTemplate);
+		ReflectionTestUtils.setField(bulkService, "chunkSize", 2);
+		when(transactionTemplate.execute(any()))
+				.thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+		when(businessRepository.findExistingCompanyNames(anyCollection())).thenReturn(List.of("Taken"));
+		when(businessOwnerRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L, 2L));
+		when(businessOwnerRepository.getReferenceById(anyLong()))
+				.thenAnswer(invocation -> BusinessOwner.builder().id(invocation.getArgument(0)).build());
+		when(businessRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+			List<Business> businesses = invocation.getArgument(0);
+			flushedBatches.add(businesses.size());
+			for (Business business : businesses) {
+				if (concurrentlyDeletedOwners.contains(business.getOwner().getId())) {
+					throw constraintViolation(Business.FK_OWNER);
+				}
+				if (concurrentlyTakenNames.contains(business.getCompanyName())) {
+					throw constraintViolation(Business.UK_COMPANY_NAME);
+				}
+			}
+			businesses.forEach(business -> business.setId(idSequence.incrementAndGet()));
+			return businesses;
+		});
+	}
+
+	@Test
+	void validatedItemsAreInsertedInChunksAndRejectedOnesAreReportedPerItem() {
+		BulkCreateBusinessResponse response = bulkService.createBusinesses(List.of(
+				request("A", 1L), request("Taken", 1L), request("B", 9L), request("C", 2L),
+				request("A", 2L), request("D", 1L), request("E", 2L)));
+
+		assertThat(response.getCreated()).isEqualTo(4);
+		assertThat(response.getFailed()).isEqualTo(3);
+		assertThat(response.getResults()).extracting(BulkItemResult::getStatus).containsExactly(
+				BulkItemResult.Status.CREATED, BulkItemResult.Status.DUPLICATE_COMPANY_NAME,
+				BulkItemResult.Status.OWNER_NOT_FOUND, BulkItemResult.Status.CREATED,
+				BulkItemResult.Status.DUPLICATE_COMPANY_NAME, BulkItemResult.Status.CREATED,
+				BulkItemResult.Status.CREATED);
+		assertThat(response.getResults()).extracting(BulkItemResult::getId)
+				.containsExactly(1L, null, null, 2L, null, 3L, 4L);
+		// 4 qəbul olunmuş element, chunk ölçüsü 2: hər chunk öz tranzaksiyasında
+		assertThat(flushedBatches).containsExactly(2, 2);
+		verify(transactionTemplate, times(2)).execute(any());
+		verify(businessCacheInvalidator, times(2)).businessesCreated(anyCollection());
+	}
+
+	@Test
+	void constraintViolationInAChunkIsRetriedRowByRowWithoutRollingBackOtherChunks() {
+		concurrentlyTakenNames.add("C");
+		concurrentlyDeletedOwners.add(2L);
+
+		BulkCreateBusinessResponse response = bulkService.createBusinesses(List.of(
+				request("A", 1L), request("B", 1L), request("C", 1L), request("D", 1L), request("E", 2L)));
+
+		assertThat(response.getResults()).extracting(BulkItemResult::getStatus).containsExactly(
+				BulkItemResult.Status.CREATED, BulkItemResult.Status.CREATED,
+				BulkItemResult.Status.DUPLICATE_COMPANY_NAME, BulkItemResult.Status.CREATED,
+				BulkItemResult.Status.OWNER_NOT_FOUND);
+		assertThat(response.getCreated()).isEqualTo(3);
+		assertThat(response.getFailed()).isEqualTo(2);
+		// [A,B] chunk-ı, geri qaytarılan [C,D] və onun sətirləri, geri qaytarılan [E] və onun sətri
+		assertThat(flushedBatches).containsExactly(2, 2, 1, 1, 1, 1);
+		assertThat(response.getResults().get(3).getId()).isNotNull();
+	}
+
+	@Test
+	void filteredDeleteEvictsTheKeysOfEveryCommittedChunk() {
+		List<BusinessDto> first = List.of(dto(1L), dto(2L));
+		List<BusinessDto> second = List.of(dto(3L));
+		when(businessRepository.findDtosMatching(any(), any(), any(), any(), any())).thenReturn(first, second);
+
+		long deleted = bulkService.deleteBusinesses(BusinessDeletionFilter.builder().ownerId(1L).build());
+
+		assertThat(deleted).isEqualTo(3L);
+		verify(businessRepository, times(2)).findDtosMatching(eq(1L), isNull(), isNull(), isNull(), eq(PageRequest.of(0, 2)));
+		verify(businessRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+		verify(businessRepository).deleteAllByIdInBatch(List.of(3L));
+		verify(businessCacheInvalidator).businessesDeleted(first);
+		verify(businessCacheInvalidator).businessesDeleted(second);
+		verify(businessCacheInvalidator, never()).allBusinessesDeleted();
+	}
+
+	@Test
+	void unfilteredDeleteRunsInChunksAndClearsTheCachesOnce() {
+		when(businessRepository.findDtosMatching(any(), any(), any(), any(), any()))
+				.thenReturn(List.of(dto(1L), dto(2L)), List.of(dto(3L), dto(4L)), List.of());
+
+		long deleted = bulkService.deleteAllBusinesses();
+
+		assertThat(deleted).isEqualTo(4L);
+		// Son tam chunk-dan sonra boş nəticə dövrü bitirir
+		verify(businessRepository, times(3)).findDtosMatching(isNull(), isNull(), isNull(), isNull(), any());
+		verify(businessRepository, times(2)).deleteAllByIdInBatch(any());
+		verify(businessCacheInvalidator, never()).businessesDeleted(anyCollection());
+		verify(businessCacheInvalidator).allBusinessesDeleted();
+	}
+
+	@Test
+	void unfilteredDeleteClearsTheCachesEvenWhenALaterChunkFails() {
+		when(businessRepository.findDtosMatching(any(), any(), any(), any(), any()))
+				.thenReturn(List.of(dto(1L), dto(2L)), List.of(dto(3L), dto(4L)));
+		doNothing().doThrow(new QueryTimeoutException("statement timeout"))
+				.when(businessRepository).deleteAllByIdInBatch(any());
+
+		assertThatThrownBy(() -> bulkService.deleteAllBusinesses()).isInstanceOf(QueryTimeoutException.class);
+
+		// Birinci chunk commit olunub: keşlər və açar indeksi ona uyğun təmizlənməlidir
+		verify(businessCacheInvalidator).allBusinessesDeleted();
+	}
+
+	private static BusinessDto dto(Long id) {
+		BusinessDto business = new BusinessDto();
+		business.setId(id);
+		business.setCompanyName("Company-" + id);
+		business.setOwnerId(1L);
+		return business;
+	}
+
+	private static CreateBusinessRequest request(String companyName, Long ownerId) {
+		return CreateBusinessRequest.builder()
+				.companyName(companyName)
+				.businessType("Retail")
+				.ownerId(ownerId)
+				.build();
+	}
+
+	private static DataIntegrityViolationException constraintViolation(String constraintName) {
+		return new DataIntegrityViolationException("could not execute statement",
+				new ConstraintViolationException("violates " + constraintName, new SQLException(), constraintName));
+	}
+}
@@ -0,0 +1,152 @@
+package com.example.businessservice.service;
+
+import com.example.businessservice.exception.InvalidRequestException;
+import com.example.businessservice.model.dto.SearchPage;
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.example.businessservice.model.dto.businessDto.BusinessTypeFacet;
+import com.example.businessservice.model.dto.businessOwnerdto.BusinessOwnerDto;
+import com.example.businessservice.model.entity.BusinessOwner;
+import com.example.businessservice.repository.BusinessOwnerRepository;
+import com.example.businessservice.repository.BusinessRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BusinessSearchServiceTest {
+
+	private final BusinessRepository businessRepository = mock(BusinessRepository.class);
+	private final BusinessOwnerRepository businessOwnerRepository = mock(BusinessOwnerRepository.class);
+	private final TrigramSupport trigramSupport = mock(TrigramSupport.class);
+	private BusinessSearchService searchService;
+
+	@BeforeEach
+	void setUp() {
+		searchService = new BusinessSearchService(businessRepository, businessOwnerRepository, trigramSupport);
+		when(trigramSupport.isAvailable()).thenReturn(true);
+		when(businessRepository.searchFacets(anyString(), anyString()))
+				.thenReturn(List.of(facet("Retail", 3L), facet("Cafe", 5L), facet("Bakery", 1L)));
+	}
+
+	@Test
+	void itemsKeepRelevanceOrderAndFacetsAreSortedByCount() {
+		when(businessRepository.searchIds(eq("acme"), eq("acme%"), isNull(), eq(3), eq(0L))).thenReturn(List.of(7L, 2L, 9L));
+		// IN sorğusu sıranı saxlamır
+		when(businessRepository.findDtosByIdIn(List.of(7L, 2L, 9L))).thenReturn(List.of(business(2L), business(9L), business(7L)));
+
+		SearchPage<BusinessDto> result = searchService.searchBusinesses("  acme ", null, 0, 3);
+
+		assertThat(result.getItems()).extracting(BusinessDto::getId).containsExactly(7L, 2L, 9L);
+		assertThat(result.getFacets()).containsExactly(
+				Map.entry("Cafe", 5L), Map.entry("Retail", 3L), Map.entry("Bakery", 1L));
+		assertThat(result.getTotal()).isEqualTo(9L);
+		assertThat(result.getPage()).isZero();
+		assertThat(result.getSize()).isEqualTo(3);
+	}
+
+	@Test
+	void typeFilterTakesTotalFromItsFacetButKeepsAllFacets() {
+		when(businessRepository.searchIds(anyString(), anyString(), anyString(), anyInt(), anyLong())).thenReturn(List.of());
+
+		SearchPage<BusinessDto> retail = searchService.searchBusinesses("acme", "Retail", 2, 10);
+		SearchPage<BusinessDto> unknown = searchService.searchBusinesses("acme", "Garage", 0, 10);
+
+		assertThat(retail.getTotal()).isEqualTo(3L);
+		assertThat(retail.getFacets()).hasSize(3);
+		assertThat(retail.getItems()).isEmpty();
+		assertThat(unknown.getTotal()).isZero();
+		// page * size offset-i
+		verify(businessRepository).searchIds("acme", "acme%", "Retail", 10, 20L);
+		verify(businessRepository, never()).findDtosByIdIn(anyCollection());
+	}
+
+	@Test
+	void likeWildcardsInTheQueryAreEscaped() {
+		when(businessRepository.searchIds(anyString(), anyString(), any(), anyInt(), anyLong())).thenReturn(List.of());
+
+		searchService.searchBusinesses("50%_off\\", null, 0, 10);
+
+		verify(businessRepository).searchIds("50%_off\\", "50\\%\\_off\\\\%", null, 10, 0L);
+		verify(businessRepository).searchFacets("50%_off\\", "50\\%\\_off\\\\%");
+	}
+
+	@Test
+	void tooShortQueryIsRejectedWithoutQueryingTheDatabase() {
+		assertThatThrownBy(() -> searchService.searchBusinesses(" a ", null, 0, 10))
+				.isInstanceOf(InvalidRequestException.class);
+		assertThatThrownBy(() -> searchService.searchBusinessOwners(null, 0, 10))
+				.isInstanceOf(InvalidRequestException.class);
+
+		verify(businessRepository, never()).searchIds(any(), any(), any(), anyInt(), anyLong());
+		verify(businessOwnerRepository, never()).searchIds(any(), any(), anyInt(), anyLong());
+	}
+
+	@Test
+	void ownerSearchKeepsRelevanceOrderAndCountsAllMatches() {
+		when(businessOwnerRepository.searchIds("java", "java%", 2, 2L)).thenReturn(List.of(5L, 3L));
+		when(businessOwnerRepository.findAllById(List.of(5L, 3L))).thenReturn(List.of(owner(3L), owner(5L)));
+		when(businessOwnerRepository.countSearch("java", "java%")).thenReturn(11L);
+
+		SearchPage<BusinessOwnerDto> result = searchService.searchBusinessOwners("java", 1, 2);
+
+		assertThat(result.getItems()).extracting(BusinessOwnerDto::getId).containsExactly(5L, 3L);
+		assertThat(result.getTotal()).isEqualTo(11L);
+		assertThat(result.getFacets()).isEmpty();
+	}
+
+	@Test
+	void withoutPgTrgmSearchUsesThePrefixAndFullTextQueries() {
+		when(trigramSupport.isAvailable()).thenReturn(false);
+		when(businessRepository.searchIdsWithoutTrigrams("acme", "acme%", null, 10, 0L)).thenReturn(List.of());
+		when(businessRepository.searchFacetsWithoutTrigrams("acme", "acme%")).thenReturn(List.of(facet("Cafe", 2L)));
+		when(businessOwnerRepository.searchIdsWithoutTrigrams("acme", "acme%", 10, 0L)).thenReturn(List.of());
+		when(businessOwnerRepository.countSearchWithoutTrigrams("acme", "acme%")).thenReturn(4L);
+
+		assertThat(searchService.searchBusinesses("acme", null, 0, 10).getTotal()).isEqualTo(2L);
+		assertThat(searchService.searchBusinessOwners("acme", 0, 10).getTotal()).isEqualTo(4L);
+
+		verify(businessRepository, never()).searchIds(any(), any(), any(), anyInt(), anyLong());
+		verify(businessRepository, never()).searchFacets(any(), any());
+		verify(businessOwnerRepository, never()).searchIds(any(), any(), anyInt(), anyLong());
+		verify(businessOwnerRepository, never()).countSearch(any(), any());
+	}
+
+	private static BusinessTypeFacet facet(String businessType, Long total) {
+		return new BusinessTypeFacet() {
+			@Override
+			public String getBusinessType() {
+				return businessType;
+			}
+
+			@Override
+			public Long getTotal() {
+				return total;
+			}
+		};
+	}
+
+	private static BusinessDto business(Long id) {
+		BusinessDto business = new BusinessDto();
+		business.setId(id);
+		return business;
+	}
+
+	private static BusinessOwner owner(Long id) {
+		return BusinessOwner.builder().id(id).authUserId(100 + id).build();
+	}
+}
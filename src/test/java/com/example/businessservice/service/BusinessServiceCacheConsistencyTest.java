@@ -0,0 +1,384 @@
+package com.example.businessservice.service;
+
+import com.example.businessservice.cache.BusinessCacheInvalidator;
+import com.example.businessservice.cache.BusinessKeyIndex;
+import com.example.businessservice.cache.CacheBatchOperations;
+import com.example.businessservice.cache.CacheEvictionReplay;
+import com.example.businessservice.cache.NegativeLookupCache;
+import com.example.businessservice.exception.BusinessAlreadyExistsException;
+import com.example.businessservice.exception.ResourceNotFoundException;
+import com.example.businessservice.model.dto.CursorPage;
+import com.example.businessservice.model.dto.businessDto.BusinessDto;
+import com.example.businessservice.model.dto.businessDto.CreateBusinessRequest;
+import com.example.businessservice.model.dto.businessDto.UpdateBusinessRequest;
+import com.example.businessservice.model.entity.Business;
+import com.example.businessservice.model.entity.BusinessOwner;
+import com.example.businessservice.repository.BusinessOwnerRepository;
+import com.example.businessservice.repository.BusinessRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig(BusinessServiceCacheConsistencyTest.TestConfig.class)
+class BusinessServiceCacheConsistencyTest {
+
+	@Configuration
+	@EnableCaching
+	@Import({BusinessService.class, BusinessCacheInvalidator.class, CacheEvictionReplay.class, NegativeLookupCache.class,
+			CacheBatchOperations.class})
+	static class TestConfig {
+
+		@Bean
+		CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+	}
+
+	@MockBean
+	private BusinessRepository businessRepository;
+
+	@MockBean
+	private BusinessOwnerRepository businessOwnerRepository;
+
+	// Hazır olmayan indeks: yoxlamalar DB stub-larına gedir
+	@MockBean
+	private BusinessKeyIndex businessKeyIndex;
+
+	@Autowired
+	private BusinessService businessService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	private final Map<Long, Business> database = new TreeMap<>();
+	private final Map<Long, BusinessOwner> owners = new TreeMap<>();
+	private final AtomicLong idSequence = new AtomicLong();
+	private final AtomicLong nameSequence = new AtomicLong();
+
+	@BeforeEach
+	void setUp() {
+		database.clear();
+		owners.clear();
+		cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+		for (long ownerId = 1; ownerId <= 3; ownerId++) {
+			owners.put(ownerId, BusinessOwner.builder().id(ownerId).authUserId(100 + ownerId).build());
+		}
+		stubRepositories();
+	}
+
+	@Test
+	void createOnlyEvictsTheOwnersListAndLeavesOtherOwnersCached() {
+		create(1L);
+		create(2L);
+		businessService.getBusinessesByOwnerId(1L);
+		businessService.getBusinessesByOwnerId(2L);
+
+		create(1L);
+
+		assertThat(nativeEntries(BusinessCacheInvalidator.BUSINESSES_BY_OWNER_ID)).containsKey(2L).doesNotContainKey(1L);
+		assertCachesMatchDatabase();
+	}
+
+	@Test
+	void renameEvictsOldAndNewCompanyNameKeys() {
+		BusinessDto business = create(1L);
+		String oldName = business.getCompanyName();
+		cacheManager.getCache(BusinessCacheInvalidator.BUSINESS_BY_COMPANY_NAME).put(oldName, business);
+		cacheManager.getCache(BusinessCacheInvalidator.BUSINESS_BY_ID).put(business.getId(), business);
+		businessService.getBusinessesByOwnerId(1L);
+		businessService.getBusinessesPage(0L, 10);
+
+		businessService.updateBusiness(business.getId(), UpdateBusinessRequest.builder().companyName("Renamed").build());
+
+		assertThat(nativeEntries(BusinessCacheInvalidator.BUSINESS_BY_COMPANY_NAME)).doesNotContainKey(oldName);
+		assertThat(businessService.getBusinessesByOwnerId(1L))
+				.extracting(BusinessDto::getCompanyName)
+				.containsExactly("Renamed");
+		assertCachesMatchDatabase();
+	}
+
+	@Test
+	void deleteEvictsOwnerListAndCompanyName() {
+		BusinessDto business = create(1L);
+		cacheManager.getCache(BusinessCacheInvalidator.BUSINESS_BY_COMPANY_NAME).put(business.getCompanyName(), business);
+		businessService.getBusinessesByOwnerId(1L);
+
+		businessService.deleteBusinessById(business.getId());
+
+		assertThat(businessService.getBusinessesByOwnerId(1L)).isEmpty();
+		assertCachesMatchDatabase();
+	}
+
+	@Test
+	void missingIdIsServedFromNegativeCacheUntilCreated() {
+		long nextId = idSequence.get() + 1;
+		for (int i = 0; i < 3; i++) {
+			assertThatThrownBy(() -> businessService.getBusinessById(nextId)).isInstanceOf(ResourceNotFoundException.class);
+		}
+		verify(businessRepository, times(1)).findById(nextId);
+
+		BusinessDto created = create(1L);
+
+		assertThat(created.getId()).isEqualTo(nextId);
+		assertThat(businessService.getBusinessById(nextId)).isEqualTo(created);
+		assertCachesMatchDatabase();
+	}
+
+	@Test
+	void multiGetLoadsOnlyMissesAndWritesThemBack() {
+		BusinessDto first = create(1L);
+		BusinessDto second = create(2L);
+		businessService.getBusinessById(first.getId());
+		long missingId = idSequence.get() + 100;
+
+		List<BusinessDto> result = businessService.getBusinessesByIds(List.of(second.getId(), missingId, first.getId(), second.getId()));
+
+		assertThat(result).containsExactly(second, first);
+		verify(businessRepository).findDtosByIdIn(List.of(second.getId(), missingId));
+		assertThat(nativeEntries(BusinessCacheInvalidator.BUSINESS_BY_ID)).containsKeys(first.getId(), second.getId());
+
+		businessService.getBusinessesByIds(List.of(first.getId(), second.getId()));
+		verify(businessRepository, times(1)).findDtosByIdIn(anyCollection());
+		assertCachesMatchDatabase();
+	}
+
+	@Test
+	void conflictingCreatesAreRejectedByConstraintsWithoutTouchingCaches() {
+		BusinessDto existing = create(1L);
+		businessService.getBusinessesByOwnerId(1L);
+		CreateBusinessRequest duplicate = CreateBusinessRequest.builder()
+				.companyName(existing.getCompanyName())
+				.businessType("Retail")
+				.ownerId(1L)
+				.build();
+
+		assertThatThrownBy(() -> businessService.createBusiness(1L, duplicate))
+				.isInstanceOf(BusinessAlreadyExistsException.class);
+		assertThatThrownBy(() -> businessService.createBusiness(99L, duplicate))
+				.isInstanceOf(ResourceNotFoundException.class);
+
+		verify(businessRepository, never()).findByCompanyName(anyString());
+		assertThat(nativeEntries(BusinessCacheInvalidator.BUSINESSES_BY_OWNER_ID)).containsKey(1L);
+		assertThat(database).hasSize(1);
+		assertCachesMatchDatabase();
+	}
+
+	@Test
+	void renameToANameMissingFromTheKeyIndexIsStillCheckedAgainstTheDatabase() {
+		BusinessDto first = create(1L);
+		BusinessDto second = create(2L);
+		// Hazır indeks adı hələ görməyib (change feed gecikir)
+		when(businessKeyIndex.isReady()).thenReturn(true);
+		when(businessKeyIndex.containsCompanyName(anyString())).thenReturn(false);
+		UpdateBusinessRequest rename = UpdateBusinessRequest.builder().companyName(first.getCompanyName()).build();
+
+		assertThatThrownBy(() -> businessService.updateBusiness(second.getId(), rename))
+				.isInstanceOf(BusinessAlreadyExistsException.class);
+
+		verify(businessRepository).existsByCompanyName(first.getCompanyName());
+		assertCachesMatchDatabase();
+	}
+
+	@Test
+	void renameRacingAnotherWriterIsRejectedByTheUniqueConstraint() {
+		BusinessDto first = create(1L);
+		BusinessDto second = create(2L);
+		// Yoxlamadan sonra başqa yazı adı tutur: yalnız UK_COMPANY_NAME görür
+		when(businessRepository.existsByCompanyName(first.getCompanyName())).thenReturn(false);
+		UpdateBusinessRequest rename = UpdateBusinessRequest.builder().companyName(first.getCompanyName()).build();
+
+		assertThatThrownBy(() -> businessService.updateBusiness(second.getId(), rename))
+				.isInstanceOf(BusinessAlreadyExistsException.class)
+				.hasMessageContaining(first.getCompanyName());
+	}
+
+	@Test
+	void randomMutationsNeverLeaveCachesDivergedFromDatabase() {
+		Random random = new Random(42);
+		for (int step = 0; step < 300; step++) {
+			List<Long> ids = new ArrayList<>(database.keySet());
+			long ownerId = 1 + random.nextInt(owners.size());
+			switch (random.nextInt(6)) {
+				case 0 -> create(ownerId);
+				case 1 -> {
+					if (!ids.isEmpty()) {
+						Long id = ids.get(random.nextInt(ids.size()));
+						UpdateBusinessRequest request = UpdateBusinessRequest.builder()
+								.companyName(random.nextBoolean() ? nextCompanyName() : null)
+								.description("step " + step)
+								.build();
+						businessService.updateBusiness(id, request);
+					}
+				}
+				case 2 -> {
+					if (!ids.isEmpty()) {
+						businessService.deleteBusinessById(ids.get(random.nextInt(ids.size())));
+					}
+				}
+				case 3 -> businessService.getBusinessesByOwnerId(ownerId);
+				case 4 -> businessService.getBusinessesPage(ids.isEmpty() ? 0L : ids.get(random.nextInt(ids.size())), 1 + random.nextInt(5));
+				default -> readPointLookups(ids.isEmpty() ? 1L : ids.get(random.nextInt(ids.size())));
+			}
+			assertCachesMatchDatabase();
+		}
+	}
+
+	private void readPointLookups(Long id) {
+		try {
+			BusinessDto business = businessService.getBusinessById(id);
+			businessService.getBusinessByCompanyName(business.getCompanyName());
+		} catch (ResourceNotFoundException ignored) {
+			// silinmiş id-lər üçün gözlənilir
+		}
+	}
+
+	private void assertCachesMatchDatabase() {
+		nativeEntries(BusinessCacheInvalidator.BUSINESS_BY_ID).forEach((key, value) -> {
+			Business row = database.get((Long) key);
+			assertThat(row).as("businessById[%s] is cached but missing in DB", key).isNotNull();
+			assertThat(value).isEqualTo(new BusinessDto(row));
+		});
+		nativeEntries(BusinessCacheInvalidator.BUSINESS_BY_COMPANY_NAME).forEach((key, value) -> {
+			Optional<Business> row = findByCompanyName((String) key);
+			assertThat(row).as("businessByCompanyName[%s] is cached but missing in DB", key).isPresent();
+			assertThat(value).isEqualTo(new BusinessDto(row.get()));
+		});
+		nativeEntries(NegativeLookupCache.CACHE_NAME).forEach((key, value) -> {
+			String negativeKey = (String) key;
+			if (negativeKey.startsWith(BusinessCacheInvalidator.BUSINESS_BY_ID + ":")) {
+				Long id = Long.valueOf(negativeKey.substring(BusinessCacheInvalidator.BUSINESS_BY_ID.length() + 1));
+				assertThat(database).as("%s is cached as missing but exists in DB", negativeKey).doesNotContainKey(id);
+			} else if (negativeKey.startsWith(BusinessCacheInvalidator.BUSINESS_BY_COMPANY_NAME + ":")) {
+				String companyName = negativeKey.substring(BusinessCacheInvalidator.BUSINESS_BY_COMPANY_NAME.length() + 1);
+				assertThat(findByCompanyName(companyName)).as("%s is cached as missing but exists in DB", negativeKey).isEmpty();
+			}
+		});
+		nativeEntries(BusinessCacheInvalidator.BUSINESSES_BY_OWNER_ID).forEach((key, value) ->
+				assertThat(value).as("businessesByOwnerId[%s]", key).isEqualTo(toDtos(findByOwnerId((Long) key))));
+		nativeEntries(BusinessCacheInvalidator.ALL_BUSINESSES_PAGES).forEach((key, value) -> {
+			String[] parts = ((String) key).split(":");
+			List<BusinessDto> expected = toDtos(findPage(Long.parseLong(parts[0]), Integer.parseInt(parts[1])));
+			assertThat(((CursorPage<?>) value).getItems()).as("allBusinessesCache[%s]", key).isEqualTo(expected);
+		});
+	}
+
+	private BusinessDto create(Long ownerId) {
+		CreateBusinessRequest request = CreateBusinessRequest.builder()
+				.companyName(nextCompanyName())
+				.businessType("Retail")
+				.ownerId(ownerId)
+				.build();
+		return businessService.createBusiness(ownerId, request);
+	}
+
+	private String nextCompanyName() {
+		return "Company-" + nameSequence.incrementAndGet();
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<Object, Object> nativeEntries(String cacheName) {
+		return (Map<Object, Object>) cacheManager.getCache(cacheName).getNativeCache();
+	}
+
+	private Optional<Business> findByCompanyName(String companyName) {
+		return database.values().stream().filter(b -> b.getCompanyName().equals(companyName)).findFirst();
+	}
+
+	private List<Business> findByOwnerId(Long ownerId) {
+		return database.values().stream().filter(b -> b.getOwner().getId().equals(ownerId)).collect(Collectors.toList());
+	}
+
+	private List<Business> findPage(long afterId, int limit) {
+		return database.values().stream().filter(b -> b.getId() > afterId).limit(limit).collect(Collectors.toList());
+	}
+
+	private static List<BusinessDto> toDtos(List<Business> businesses) {
+		return businesses.stream().map(BusinessDto::new).collect(Collectors.toList());
+	}
+
+	private Business persist(Business business) {
+		if (business.getId() == null) {
+			business.setId(idSequence.incrementAndGet());
+		}
+		database.put(business.getId(), business);
+		return business;
+	}
+
+	private static DataIntegrityViolationException constraintViolation(String constraintName) {
+		return new DataIntegrityViolationException("could not execute statement",
+				new ConstraintViolationException("violates " + constraintName, new SQLException(), constraintName));
+	}
+
+	private void stubRepositories() {
+		when(businessOwnerRepository.findById(anyLong()))
+				.thenAnswer(invocation -> Optional.ofNullable(owners.get(invocation.<Long>getArgument(0))));
+		when(businessOwnerRepository.existsById(anyLong()))
+				.thenAnswer(invocation -> owners.containsKey(invocation.<Long>getArgument(0)));
+		when(businessOwnerRepository.getReferenceById(anyLong()))
+				.thenAnswer(invocation -> owners.getOrDefault(invocation.<Long>getArgument(0),
+						BusinessOwner.builder().id(invocation.getArgument(0)).build()));
+		when(businessRepository.save(any(Business.class))).thenAnswer(invocation -> persist(invocation.getArgument(0)));
+		when(businessRepository.saveAndFlush(any(Business.class))).thenAnswer(invocation -> {
+			Business business = invocation.getArgument(0);
+			if (!owners.containsKey(business.getOwner().getId())) {
+				throw constraintViolation(Business.FK_OWNER);
+			}
+			if (findByCompanyName(business.getCompanyName()).filter(existing -> existing != business).isPresent()) {
+				throw constraintViolation(Business.UK_COMPANY_NAME);
+			}
+			return persist(business);
+		});
+		when(businessRepository.findById(anyLong()))
+				.thenAnswer(invocation -> Optional.ofNullable(database.get(invocation.<Long>getArgument(0))));
+		when(businessRepository.existsById(anyLong()))
+				.thenAnswer(invocation -> database.containsKey(invocation.<Long>getArgument(0)));
+		when(businessRepository.findByCompanyName(anyString()))
+				.thenAnswer(invocation -> findByCompanyName(invocation.getArgument(0)));
+		when(businessRepository.existsByCompanyName(anyString()))
+				.thenAnswer(invocation -> findByCompanyName(invocation.getArgument(0)).isPresent());
+		when(businessRepository.findDtosByOwnerId(anyLong()))
+				.thenAnswer(invocation -> toDtos(findByOwnerId(invocation.getArgument(0))));
+		when(businessRepository.findDtoPageAfter(anyLong(), any(Pageable.class)))
+				.thenAnswer(invocation -> toDtos(findPage(invocation.<Long>getArgument(0), invocation.<Pageable>getArgument(1).getPageSize())));
+		when(businessRepository.findDtosByIdIn(anyCollection()))
+				.thenAnswer(invocation -> toDtos(invocation.<Collection<Long>>getArgument(0).stream()
+						.map(database::get).filter(Objects::nonNull).collect(Collectors.toList())));
+		doAnswer(invocation -> database.remove(invocation.<Business>getArgument(0).getId()))
+				.when(businessRepository).delete(any(Business.class));
+	}
+}